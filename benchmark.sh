@@ -0,0 +1,80 @@
+#!/bin/bash
+set -e
+
+# Runs the JMH benchmarks and compares the results with the committed baseline.
+#
+#   ./benchmark.sh record   Run all benchmarks and store the results as the new baseline
+#   ./benchmark.sh check    Run all benchmarks and fail if any score regressed
+#
+# Environment:
+#   JMH_INCLUDES   Benchmark regex (default: all benchmarks)
+#   JMH_RUN_ARGS   Forks and iterations, overriding the annotations (default: -f 3 -wi 5 -i 10)
+#   THRESHOLD      Allowed regression in percent (default: 10)
+#
+# A score only counts as a regression when it is more than THRESHOLD percent worse and
+# its confidence interval does not overlap the baseline's, so noisy benchmarks with
+# wide error bars do not fail the check on their own.
+
+MODE=${1:-check}
+JMH_INCLUDES=${JMH_INCLUDES:-'.*Benchmark.*'}
+JMH_RUN_ARGS=${JMH_RUN_ARGS:-'-f 3 -wi 5 -i 10'}
+THRESHOLD=${THRESHOLD:-10}
+RESULT=target/jmh-result.json
+BASELINE=benchmarks/baseline.json
+
+if ! command -v jq > /dev/null; then
+  echo "jq is required to compare benchmark results"
+  exit 1
+fi
+
+if [ "$MODE" = "check" ] && [ ! -f "$BASELINE" ]; then
+  echo "No baseline at $BASELINE - run './benchmark.sh record' on the reference machine first"
+  exit 1
+fi
+
+echo "Running benchmarks matching $JMH_INCLUDES..."
+mvn -B -q -Pbenchmark package exec:exec -DskipTests \
+  -Djmh.includes="$JMH_INCLUDES" \
+  -Djmh.args="$JMH_RUN_ARGS -rf json -rff $RESULT"
+
+if [ "$MODE" = "record" ]; then
+  mkdir -p "$(dirname "$BASELINE")"
+  # The JVM path is specific to the machine that recorded the baseline
+  jq 'map(del(.jvm))' "$RESULT" > "$BASELINE"
+  echo "Baseline written to $BASELINE"
+  exit 0
+fi
+
+# One line per benchmark: key, score, score error, unit. Parameters are part of the key.
+# JMH writes the error as "NaN" when there are too few iterations to estimate it.
+scores() {
+  jq -r '.[] | [.benchmark + ([.params // {} | to_entries[] | ":" + .key + "=" + .value] | join("")),
+                .primaryMetric.score,
+                (.primaryMetric.scoreError | if type == "number" then . else 0 end),
+                .primaryMetric.scoreUnit] | @tsv' "$1" | sort
+}
+
+echo "Comparing against $BASELINE (threshold ${THRESHOLD}%)..."
+REGRESSIONS=$(join -t $'\t' <(scores "$BASELINE") <(scores "$RESULT") | awk -F'\t' -v limit="$THRESHOLD" '
+  {
+    base = $2; baseError = $3; unit = $4; current = $5; currentError = $6
+    # Throughput units (ops/time) are better when higher, time units (time/op) when lower
+    if (unit ~ /^ops\//) {
+      change = (base - current) / base * 100
+      separate = base - baseError > current + currentError
+    } else {
+      change = (current - base) / base * 100
+      separate = current - currentError > base + baseError
+    }
+    if (change > limit && separate) {
+      printf "  %s: %.3f ± %.3f -> %.3f ± %.3f %s (%.1f%% worse)\n", $1, base, baseError, current, currentError, unit, change
+    }
+  }')
+
+if [ -n "$REGRESSIONS" ]; then
+  echo "Benchmark regressions:"
+  echo "$REGRESSIONS"
+  exit 1
+fi
+
+echo "No benchmark regressed by more than ${THRESHOLD}% beyond its error margin"
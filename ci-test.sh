@@ -16,9 +16,10 @@ curl -f -X POST http://localhost:8090/api/v1/mpc \
   -d '{"jsonrpc": "2.0", "id": 1, "method": "ping", "params": {}}' || exit 1
 
 # Test the MCP SSE endpoint (GET)
+# The stream stays open, so stop after a few seconds; curl exits with 28 on that timeout
 echo "Testing MCP SSE endpoint (GET)..."
-curl -f -X GET http://localhost:8090/api/v1/mpc \
-  -H "Accept: text/event-stream" || exit 1
+curl -f -N --max-time 3 -X GET http://localhost:8090/api/v1/mpc \
+  -H "Accept: text/event-stream" || [ $? -eq 28 ] || exit 1
 
 echo "MCP Server test successful!"
 
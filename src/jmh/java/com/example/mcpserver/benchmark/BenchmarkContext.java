@@ -0,0 +1,67 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.admission.AdmissionControl;
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.controller.McpController;
+import com.example.mcpserver.journal.RequestJournal;
+import com.example.mcpserver.metrics.McpMetrics;
+import com.example.mcpserver.rpc.CborCodec;
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.rpc.PendingRequests;
+import com.example.mcpserver.service.CalculatorService;
+import com.example.mcpserver.service.GameService;
+import com.example.mcpserver.service.TabulationService;
+import com.example.mcpserver.service.VectorService;
+import com.example.mcpserver.tool.ToolCallCoalescer;
+import com.example.mcpserver.tool.ToolExecutor;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.example.mcpserver.tool.ToolResultCache;
+import com.example.mcpserver.transport.SseSessionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+/**
+ * BenchmarkContext - A minimal application context with the tool beans, the
+ * request-path components and the controller, without starting the web server.
+ *
+ * @author mcp-server
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext create() {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(ObjectMapper.class, () -> new ObjectMapper());
+        context.registerBean(McpServerProperties.class, () -> {
+            // Benchmarks drive one client far past any sensible rate limit
+            McpServerProperties properties = new McpServerProperties();
+            properties.getAdmission().setEnabled(false);
+            // and would fill the disk with journal files
+            properties.getJournal().setEnabled(false);
+            return properties;
+        });
+        context.registerBean(CalculatorService.class, () -> new CalculatorService(1024));
+        context.registerBean(GameService.class);
+        context.registerBean(VectorService.class);
+        context.registerBean(TabulationService.class);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.registerBean(ToolRegistry.class);
+        context.registerBean(McpMetrics.class);
+        context.registerBean(ToolExecutor.class);
+        context.registerBean(ToolResultCache.class);
+        context.registerBean(ToolCallCoalescer.class);
+        context.registerBean(JsonRpcDecoder.class);
+        context.registerBean(CborCodec.class);
+        context.registerBean(PendingRequests.class);
+        context.registerBean(SseSessionRegistry.class);
+        context.registerBean(AdmissionControl.class);
+        context.registerBean(RequestJournal.class);
+        context.registerBean(McpController.class);
+        context.refresh();
+        return context;
+    }
+}
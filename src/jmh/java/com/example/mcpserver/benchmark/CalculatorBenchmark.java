@@ -0,0 +1,55 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CalculatorBenchmark - {@link CalculatorService#calculate(String)} on flat, nested,
+ * deeply nested and long expressions, with and without the compiled expression cache.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    @Param({"flat", "nested", "deep", "long"})
+    private String shape;
+
+    private String expression;
+    private CalculatorService cached;
+    private CalculatorService uncached;
+
+    @Setup
+    public void setUp() {
+        expression = ExpressionShapes.of(shape);
+        cached = new CalculatorService(1024);
+        uncached = new CalculatorService(0);
+    }
+
+    @Benchmark
+    public double calculate() {
+        return cached.calculate(expression);
+    }
+
+    @Benchmark
+    public double calculateUncached() {
+        return uncached.calculate(expression);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.rpc.JsonRpcRequest;
+import com.example.mcpserver.rpc.JsonRpcResponse;
+import com.example.mcpserver.rpc.ToolCallResult;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EnvelopeDecodingBenchmark - Compares the former {@code Map<String, Object>} envelope
+ * path with the streaming typed decoder and record-based responses.
+ *
+ * Run with the GC profiler to compare allocation per operation
+ * ({@code gc.alloc.rate.norm}):
+ * {@code mvn -Pbenchmark package exec:exec -DskipTests -Djmh.includes=EnvelopeDecodingBenchmark -Djmh.args="-prof gc"}
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvelopeDecodingBenchmark {
+
+    @Param({"add", "calculate", "ping"})
+    private String request;
+
+    private AnnotationConfigApplicationContext context;
+    private ObjectMapper objectMapper;
+    private JsonRpcDecoder decoder;
+    private ToolRegistry toolRegistry;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        objectMapper = context.getBean(ObjectMapper.class);
+        decoder = context.getBean(JsonRpcDecoder.class);
+        toolRegistry = context.getBean(ToolRegistry.class);
+        body = RequestBodies.of(request).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * The former path: bind to a map, cast the envelope members, convert arguments.
+     */
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object decodeMap() throws Exception {
+        Map<String, Object> envelope = objectMapper.readValue(body, Map.class);
+        String method = (String) envelope.get("method");
+        Map<String, Object> params = (Map<String, Object>) envelope.get("params");
+        if (!"tools/call".equals(method)) {
+            return envelope.get("id");
+        }
+        Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
+        String name = (String) params.get("name");
+        Object[] converted = new Object[arguments.size()];
+        int i = 0;
+        for (Object value : arguments.values()) {
+            converted[i++] = value instanceof Number number ? number.doubleValue() : value;
+        }
+        return toolRegistry.find(name) != null ? converted : null;
+    }
+
+    @Benchmark
+    public JsonRpcRequest decodeStreaming() {
+        return decoder.decode(body).single();
+    }
+
+    @Benchmark
+    public byte[] encodeMap() throws Exception {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jsonrpc", "2.0");
+        response.put("id", 7);
+        Map<String, Object> resultMap = new HashMap<>();
+        Map<String, Object> contentItem = new HashMap<>();
+        contentItem.put("type", "text");
+        contentItem.put("text", "42.0");
+        resultMap.put("content", new Object[]{contentItem});
+        response.put("result", resultMap);
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] encodeRecord() throws Exception {
+        return objectMapper.writeValueAsBytes(JsonRpcResponse.success(7, ToolCallResult.text("42.0")));
+    }
+}
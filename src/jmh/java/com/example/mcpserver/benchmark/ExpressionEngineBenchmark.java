@@ -0,0 +1,70 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.expression.CompiledExpression;
+import com.example.mcpserver.expression.ExpressionCompiler;
+import com.example.mcpserver.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ExpressionEngineBenchmark - Compares the legacy string-rewriting evaluator with the
+ * compiled expression engine on nested and long expressions.
+ *
+ * The inputs avoid mixing precedence levels outside parentheses, since the legacy
+ * evaluator cannot handle those.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpressionEngineBenchmark {
+
+    @Param({"flat", "nested", "long"})
+    private String shape;
+
+    private String expression;
+    private CompiledExpression compiled;
+    private CalculatorService calculatorService;
+
+    @Setup
+    public void setUp() {
+        expression = ExpressionShapes.of(shape);
+        compiled = ExpressionCompiler.compile(expression);
+        calculatorService = new CalculatorService(1024);
+    }
+
+    @Benchmark
+    public double legacy() {
+        return LegacyExpressionEvaluator.evaluate(expression);
+    }
+
+    @Benchmark
+    public double compileAndEvaluate() {
+        return ExpressionCompiler.compile(expression).evaluate();
+    }
+
+    @Benchmark
+    public double evaluatePrecompiled() {
+        return compiled.evaluate();
+    }
+
+    @Benchmark
+    public double calculateCached() {
+        return calculatorService.calculate(expression);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.expression.ExpressionCompiler;
+
+/**
+ * ExpressionShapes - Representative expression inputs shared by the benchmarks.
+ *
+ * @author mcp-server
+ */
+final class ExpressionShapes {
+
+    private static final int NESTING_DEPTH = 32;
+    // Each level opens two parentheses; this is the deepest shape the compiler still accepts
+    private static final int DEEP_NESTING_DEPTH = (ExpressionCompiler.MAX_NESTING - 1) / 2;
+    private static final int LONG_TERMS = 200;
+
+    private ExpressionShapes() {
+    }
+
+    static String of(String shape) {
+        switch (shape) {
+            case "flat":
+                return "12.5 + 7 + 3.25 + 40";
+            case "nested":
+                return nested(NESTING_DEPTH);
+            case "deep":
+                return nested(DEEP_NESTING_DEPTH);
+            case "long":
+                return longSum(LONG_TERMS);
+            default:
+                throw new IllegalArgumentException("Unknown expression shape: " + shape);
+        }
+    }
+
+    /**
+     * Builds (((1 + 1) * 2) + k) style nesting with one parenthesized operator per level.
+     */
+    private static String nested(int depth) {
+        StringBuilder sb = new StringBuilder("(1 + 1)");
+        for (int i = 0; i < depth; i++) {
+            sb.insert(0, "((").append(" * 2) + ").append(i % 7 + 1).append(')');
+        }
+        return sb.toString();
+    }
+
+    private static String longSum(int terms) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 1; i <= terms; i++) {
+            if (i > 1) {
+                sb.append(" + ");
+            }
+            sb.append(i).append(".5");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.service.GameService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameServiceContentionBenchmark - All benchmark threads share one {@link GameService},
+ * the way concurrent requests share the singleton bean.
+ *
+ * Runs on 8 threads by default; compare against {@code -t 1} to see the cost of contention.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class GameServiceContentionBenchmark {
+
+    private GameService gameService;
+
+    @Setup
+    public void setUp() {
+        gameService = new GameService(1_000_000);
+    }
+
+    @Benchmark
+    public String rockPaperScissors() {
+        return gameService.rockPaperScissors();
+    }
+
+    @Benchmark
+    public String playRockPaperScissors() {
+        return gameService.playRockPaperScissors("rock");
+    }
+
+    @Benchmark
+    public String getRandomChoice() {
+        return gameService.getRandomChoice();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.mcpserver.benchmark;
+
+/**
+ * LegacyExpressionEvaluator - The string-rewriting evaluator that CalculatorService used
+ * before the compiled expression engine, kept verbatim as a benchmark baseline.
+ *
+ * Only correct for expressions that do not mix precedence levels outside parentheses.
+ *
+ * @author mcp-server
+ */
+final class LegacyExpressionEvaluator {
+
+    private LegacyExpressionEvaluator() {
+    }
+
+    static double evaluate(String expression) {
+        return parseAndCompute(expression.replaceAll("\\s+", ""));
+    }
+
+    /**
+     * Parses and computes a simple arithmetic expression.
+     * Supports +, -, *, /, and parentheses.
+     */
+    private static double parseAndCompute(String expr) {
+        // Remove whitespace
+        expr = expr.replaceAll("\\s+", "");
+
+        // Handle parentheses recursively
+        while (expr.contains("(")) {
+            int open = expr.lastIndexOf("(");
+            int close = expr.indexOf(")", open);
+            if (close == -1) {
+                throw new IllegalArgumentException("Mismatched parentheses");
+            }
+            String inner = expr.substring(open + 1, close);
+            double innerResult = parseAndCompute(inner);
+            expr = expr.substring(0, open) + innerResult + expr.substring(close + 1);
+        }
+
+        // Handle multiplication and division
+        String[] mulDivParts = expr.split("(?<=[*/])|(?=[*/])");
+        if (mulDivParts.length > 1) {
+            double result = Double.parseDouble(mulDivParts[0]);
+            for (int i = 1; i < mulDivParts.length; i += 2) {
+                if (i + 1 < mulDivParts.length) {
+                    double operand = Double.parseDouble(mulDivParts[i + 1]);
+                    if ("*".equals(mulDivParts[i])) {
+                        result *= operand;
+                    } else if ("/".equals(mulDivParts[i])) {
+                        if (operand == 0) {
+                            throw new IllegalArgumentException("Cannot divide by zero");
+                        }
+                        result /= operand;
+                    }
+                }
+            }
+            return result;
+        }
+
+        // Handle addition and subtraction
+        String[] addSubParts = expr.split("(?<=[+-])|(?=[+-])");
+        if (addSubParts.length > 1) {
+            double result = Double.parseDouble(addSubParts[0]);
+            for (int i = 1; i < addSubParts.length; i += 2) {
+                if (i + 1 < addSubParts.length) {
+                    double operand = Double.parseDouble(addSubParts[i + 1]);
+                    if ("+".equals(addSubParts[i])) {
+                        result += operand;
+                    } else if ("-".equals(addSubParts[i])) {
+                        result -= operand;
+                    }
+                }
+            }
+            return result;
+        }
+
+        // If only a single number remains
+        return Double.parseDouble(expr);
+    }
+}
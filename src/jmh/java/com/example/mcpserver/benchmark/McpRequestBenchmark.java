@@ -0,0 +1,68 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.controller.McpController;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * McpRequestBenchmark - The full POST envelope round trip: request bytes through
+ * {@link McpController#handleMcpRequest} to encoded response bytes.
+ *
+ * The HTTP layer is left out; the response body is encoded with the application's
+ * ObjectMapper the same way the JSON encoder would. Deterministic tools such as
+ * {@code add} and {@code calculate} are answered from the result cache after the first call.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class McpRequestBenchmark {
+
+    @Param({"ping", "initialize", "tools/list", "add", "calculate", "batch"})
+    private String request;
+
+    private AnnotationConfigApplicationContext context;
+    private McpController controller;
+    private ObjectMapper objectMapper;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        controller = context.getBean(McpController.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        body = RequestBodies.of(request).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] handleMcpRequest() throws Exception {
+        ResponseEntity<Object> response = controller.handleMcpRequest(body, null, null, null).block();
+        Object responseBody = response.getBody();
+        return responseBody instanceof byte[] bytes ? bytes : objectMapper.writeValueAsBytes(responseBody);
+    }
+}
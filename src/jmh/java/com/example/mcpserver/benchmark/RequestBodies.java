@@ -0,0 +1,62 @@
+package com.example.mcpserver.benchmark;
+
+/**
+ * RequestBodies - Representative JSON-RPC request bodies shared by the benchmarks.
+ *
+ * @author mcp-server
+ */
+final class RequestBodies {
+
+    private RequestBodies() {
+    }
+
+    static String of(String kind) {
+        switch (kind) {
+            case "add":
+                return toolCall("add", "{\"a\": 12.5, \"b\": 30}");
+            case "subtract":
+                return toolCall("subtract", "{\"a\": 12.5, \"b\": 30}");
+            case "multiply":
+                return toolCall("multiply", "{\"a\": 12.5, \"b\": 30}");
+            case "divide":
+                return toolCall("divide", "{\"a\": 12.5, \"b\": 30}");
+            case "calculate":
+                return toolCall("calculate", "{\"expression\": \"(2 + 3) * 4 - 10 / 5\"}");
+            case "addArrays":
+                return toolCall("addArrays", "{\"a\": " + array(1024, 0.5) + ", \"b\": " + array(1024, 1.25) + "}");
+            case "rockPaperScissors":
+                return toolCall("rockPaperScissors", "{}");
+            case "playRockPaperScissors":
+                return toolCall("playRockPaperScissors", "{\"playerChoice\": \"rock\"}");
+            case "simulateRockPaperScissors":
+                return toolCall("simulateRockPaperScissors", "{\"rounds\": 1000000, \"strategy\": \"random\"}");
+            case "getRandomChoice":
+                return toolCall("getRandomChoice", "{}");
+            case "ping":
+                return "{\"jsonrpc\": \"2.0\", \"id\": 7, \"method\": \"ping\", \"params\": {}}";
+            case "initialize":
+                return "{\"jsonrpc\": \"2.0\", \"id\": 7, \"method\": \"initialize\", \"params\": {}}";
+            case "tools/list":
+                return "{\"jsonrpc\": \"2.0\", \"id\": 7, \"method\": \"tools/list\", \"params\": {}}";
+            case "batch":
+                return "[" + toolCall("add", "{\"a\": 1, \"b\": 2}") + ", "
+                    + toolCall("calculate", "{\"expression\": \"2 + 3 * 4\"}") + ", "
+                    + toolCall("getRandomChoice", "{}") + "]";
+            default:
+                throw new IllegalArgumentException("Unknown request kind: " + kind);
+        }
+    }
+
+    private static String array(int size, double step) {
+        StringBuilder values = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            values.append(i > 0 ? ", " : "").append(i * step);
+        }
+        return values.append(']').toString();
+    }
+
+    private static String toolCall(String name, String arguments) {
+        return "{\"jsonrpc\": \"2.0\", \"id\": 7, \"method\": \"tools/call\", \"params\": {\"name\": \""
+            + name + "\", \"arguments\": " + arguments + "}}";
+    }
+}
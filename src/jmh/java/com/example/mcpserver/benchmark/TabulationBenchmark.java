@@ -0,0 +1,75 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.expression.CompiledExpression;
+import com.example.mcpserver.expression.ExpressionCompiler;
+import com.example.mcpserver.service.TabulationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TabulationBenchmark - One expression over many points: a loop of single-point evaluations
+ * against block evaluation over a column, and the full {@code tabulate} tool.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TabulationBenchmark {
+
+    private static final String EXPRESSION = "x * x / 2 + 3 * (x - 1)";
+
+    @Param({"10000", "100000"})
+    private int points;
+
+    private CompiledExpression compiled;
+    private TabulationService tabulationService;
+    private double[][] columns;
+    private double[] out;
+
+    @Setup
+    public void setUp() {
+        compiled = ExpressionCompiler.compile(EXPRESSION, "x");
+        tabulationService = new TabulationService(8192, points, points);
+        double[] x = new double[points];
+        for (int i = 0; i < points; i++) {
+            x[i] = i * 0.001;
+        }
+        columns = new double[][] {x};
+        out = new double[points];
+    }
+
+    @Benchmark
+    public double[] pointwise() {
+        double[] x = columns[0];
+        for (int i = 0; i < points; i++) {
+            out[i] = compiled.evaluate(x[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] blocked() {
+        compiled.evaluate(columns, 0, points, out, 0);
+        return out;
+    }
+
+    @Benchmark
+    public Object tabulateRange() {
+        return tabulationService.tabulate(EXPRESSION, null, null, 0, 100, points, false);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ToolDispatchBenchmark - tools/call dispatch for each registered tool.
+ *
+ * {@code invoke} measures the bound method handle call on pre-decoded arguments,
+ * {@code decodeAndInvoke} adds request decoding, and {@code execute} adds the hop
+ * onto the tool's worker pool and back.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToolDispatchBenchmark {
+
+    @Param({"add", "subtract", "multiply", "divide", "calculate",
+            "rockPaperScissors", "playRockPaperScissors", "getRandomChoice", "simulateRockPaperScissors"})
+    private String tool;
+
+    private AnnotationConfigApplicationContext context;
+    private JsonRpcDecoder decoder;
+    private ToolExecutor toolExecutor;
+    private byte[] body;
+    private ToolCall call;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        decoder = context.getBean(JsonRpcDecoder.class);
+        toolExecutor = context.getBean(ToolExecutor.class);
+        body = RequestBodies.of(tool).getBytes(StandardCharsets.UTF_8);
+        call = decoder.decode(body).single().toolCall();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object invoke() {
+        return call.tool().invokeWith(call.arguments());
+    }
+
+    @Benchmark
+    public Object decodeAndInvoke() {
+        ToolCall decoded = decoder.decode(body).single().toolCall();
+        return decoded.tool().invokeWith(decoded.arguments());
+    }
+
+    @Benchmark
+    public String execute() {
+        return toolExecutor.execute(call).block();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.rpc.JsonRpcRequest;
+import com.example.mcpserver.service.VectorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VectorBenchmark - Bulk array tools below and above the parallel threshold, and
+ * decoding a large numeric array argument straight into a {@code double[]}.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private AnnotationConfigApplicationContext context;
+    private JsonRpcDecoder decoder;
+    private VectorService vectorService;
+    private double[] a;
+    private double[] b;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        decoder = context.getBean(JsonRpcDecoder.class);
+        vectorService = context.getBean(VectorService.class);
+        a = new double[size];
+        b = new double[size];
+        StringBuilder values = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            a[i] = i * 0.5;
+            b[i] = size - i;
+            values.append(i > 0 ? ", " : "").append(a[i]);
+        }
+        values.append(']');
+        body = ("{\"jsonrpc\": \"2.0\", \"id\": 7, \"method\": \"tools/call\", \"params\": "
+            + "{\"name\": \"sumArray\", \"arguments\": {\"values\": " + values + "}}}")
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public double[] addArrays() {
+        return vectorService.addArrays(a, b);
+    }
+
+    @Benchmark
+    public double sumArray() {
+        return vectorService.sumArray(a);
+    }
+
+    @Benchmark
+    public double dotProduct() {
+        return vectorService.dotProduct(a, b);
+    }
+
+    @Benchmark
+    public JsonRpcRequest decodeArrayArgument() {
+        return decoder.decode(body).single();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.mcpserver.benchmark;
+
+import com.example.mcpserver.rpc.CborCodec;
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.rpc.JsonRpcRequest;
+import com.example.mcpserver.rpc.JsonRpcResponse;
+import com.example.mcpserver.rpc.ToolCallResult;
+import com.example.mcpserver.rpc.WireFormat;
+import com.example.mcpserver.tool.ResultText;
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WireFormatBenchmark - Payload size and encode/decode cost of JSON versus CBOR for
+ * {@code tools/list} and {@code tools/call} exchanges.
+ *
+ * Request and response sizes for both formats are printed once per trial. The client-side
+ * cost of reading a response is measured too, since that is where a compact format pays off.
+ *
+ * @author mcp-server
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"JSON", "CBOR"})
+    private WireFormat format;
+
+    @Param({"tools/list", "calculate", "addArrays"})
+    private String request;
+
+    private AnnotationConfigApplicationContext context;
+    private JsonRpcDecoder decoder;
+    private CborCodec cborCodec;
+    private ObjectMapper objectMapper;
+    private ObjectMapper cborMapper;
+    private JsonRpcResponse response;
+    private byte[] body;
+    private byte[] encodedResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContext.create();
+        decoder = context.getBean(JsonRpcDecoder.class);
+        cborCodec = context.getBean(CborCodec.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        cborMapper = objectMapper.copyWith(new CBORFactory());
+
+        byte[] json = RequestBodies.of(request).getBytes(StandardCharsets.UTF_8);
+        byte[] cbor = cborMapper.writeValueAsBytes(objectMapper.readTree(json));
+        response = JsonRpcResponse.success(7, result(decoder.decode(json).single()));
+        byte[] jsonResponse = objectMapper.writeValueAsBytes(response);
+        byte[] cborResponse = cborCodec.encode(response);
+
+        body = format == WireFormat.CBOR ? cbor : json;
+        encodedResponse = format == WireFormat.CBOR ? cborResponse : jsonResponse;
+        System.out.printf("%n%s: request %d bytes JSON, %d bytes CBOR; response %d bytes JSON, %d bytes CBOR%n",
+            request, json.length, cbor.length, jsonResponse.length, cborResponse.length);
+    }
+
+    private Object result(JsonRpcRequest decoded) {
+        if (!"tools/call".equals(decoded.method())) {
+            return Map.of("tools", context.getBean(ToolRegistry.class).getToolDescriptors());
+        }
+        ToolCall call = decoded.toolCall();
+        return ToolCallResult.text(ResultText.of(call.tool().invokeWith(call.arguments())));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public JsonRpcRequest decodeRequest() {
+        return format == WireFormat.CBOR
+            ? decoder.decode(cborCodec.getFactory(), body).single()
+            : decoder.decode(body).single();
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws Exception {
+        return format == WireFormat.CBOR
+            ? cborCodec.encode(response)
+            : objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * A client reading the response into a tree.
+     */
+    @Benchmark
+    public Object decodeResponse() throws Exception {
+        return (format == WireFormat.CBOR ? cborMapper : objectMapper).readTree(encodedResponse);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.mcpserver.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyStats - Latency histograms and outcome counts of a load run, overall and per name.
+ *
+ * Sender threads record into HdrHistogram {@link Recorder}s without locking. The reporting
+ * thread swaps out the interval histograms and adds them to the run totals. Latencies are
+ * in nanoseconds.
+ *
+ * @author mcp-server
+ */
+final class LatencyStats {
+
+    private static final int DIGITS = 3;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    /**
+     * How a request ended: a result, a JSON-RPC error, rejected by admission control
+     * (429 or 503), or failed (any other status, an I/O error or a timeout).
+     */
+    enum Outcome {
+        OK, ERROR, REJECTED, FAILED
+    }
+
+    private final Recorder overall = new Recorder(DIGITS);
+    private final ConcurrentMap<String, Recorder> byName = new ConcurrentHashMap<>();
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+
+    private final Histogram total = new Histogram(DIGITS);
+    private final Map<String, Histogram> totalByName = new TreeMap<>();
+    private Histogram interval;
+
+    LatencyStats() {
+        for (int i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records one request. With a positive {@code expectedIntervalNanos}, a latency longer
+     * than the interval also records the requests a stalled closed-loop sender would have
+     * sent meanwhile, which corrects for coordinated omission.
+     */
+    void record(String name, long latencyNanos, long expectedIntervalNanos, Outcome outcome) {
+        outcomes[outcome.ordinal()].increment();
+        Recorder named = byName.computeIfAbsent(name, key -> new Recorder(DIGITS));
+        if (expectedIntervalNanos > 0) {
+            overall.recordValueWithExpectedInterval(latencyNanos, expectedIntervalNanos);
+            named.recordValueWithExpectedInterval(latencyNanos, expectedIntervalNanos);
+        } else {
+            overall.recordValue(latencyNanos);
+            named.recordValue(latencyNanos);
+        }
+    }
+
+    long count(Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    /**
+     * Takes the latencies recorded since the last call, adds them to the totals and returns
+     * them. Only the reporting thread may call this.
+     */
+    Histogram nextInterval() {
+        interval = overall.getIntervalHistogram(interval);
+        total.add(interval);
+        byName.forEach((name, recorder) ->
+            totalByName.computeIfAbsent(name, key -> new Histogram(DIGITS)).add(recorder.getIntervalHistogram()));
+        return interval;
+    }
+
+    /**
+     * Prints the percentile table of the run totals, overall and per name.
+     */
+    void printTotals(PrintStream out) {
+        out.printf(Locale.ROOT, "%-28s %10s", "latency ms", "count");
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9s", "p" + format(percentile));
+        }
+        out.printf(Locale.ROOT, " %9s%n", "max");
+        printRow(out, "all", total);
+        for (Map.Entry<String, Histogram> entry : totalByName.entrySet()) {
+            printRow(out, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf(Locale.ROOT, "%-28s %10d", name, histogram.getTotalCount());
+        for (double percentile : PERCENTILES) {
+            out.printf(Locale.ROOT, " %9.3f", millis(histogram.getValueAtPercentile(percentile)));
+        }
+        out.printf(Locale.ROOT, " %9.3f%n", millis(histogram.getMaxValue()));
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile);
+    }
+}
@@ -0,0 +1,370 @@
+package com.example.mcpserver.loadgen;
+
+import com.example.mcpserver.loadgen.LatencyStats.Outcome;
+import com.example.mcpserver.loadgen.Workload.Request;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadGenerator - Command-line load generator for the /api/v1/mpc endpoint.
+ *
+ * Usage: {@code LoadGenerator [--mode closed|open] [--connections N] [--rate R]
+ * [--duration D] [--warmup D] [--mix name=weight,...] [--replay path]... [--speed S]
+ * [--clients N] [--interval D] [--timeout D] [--hlog file] [--url URL]}
+ * where durations are written as {@code 500ms}, {@code 30s} or {@code 2m}.
+ *
+ * <ul>
+ *   <li>Closed loop (default): {@code --connections} senders each send a request and wait for
+ *       its response before sending the next. With {@code --rate} the senders follow a fixed
+ *       schedule instead of sending back to back.</li>
+ *   <li>Open loop: requests are sent at {@code --rate} per second, whether or not earlier ones
+ *       have completed, with at most {@code --connections} in flight. Replaying journal files
+ *       without a rate follows their recorded arrival times, sped up by {@code --speed}.</li>
+ * </ul>
+ *
+ * Requests come from {@code --mix}, a weighted mix of the built-in requests per method and
+ * tool, or from {@code --replay} files of JSON-RPC requests or journal records.
+ *
+ * Latency is measured from the time a request was scheduled to be sent, not from the time
+ * it was actually sent, so a stalled server or a saturated generator shows up in the
+ * percentiles instead of hiding behind fewer samples (coordinated omission). A closed loop
+ * without a schedule has no intended send times; it is corrected with the mean latency of
+ * the warmup as the expected interval between requests.
+ *
+ * Requests are spread over {@code --clients} {@code X-Client-Id} values so the server's
+ * per-client rate limit applies as it would to that many clients.
+ *
+ * @author mcp-server
+ */
+public final class LoadGenerator {
+
+    private static final byte[] ERROR_MEMBER = "\"error\":".getBytes(StandardCharsets.US_ASCII);
+
+    private URI url = URI.create("http://localhost:8090/api/v1/mpc");
+    private boolean open;
+    private int connections = 16;
+    private double rate;
+    private Duration duration = Duration.ofSeconds(30);
+    private Duration warmup = Duration.ofSeconds(5);
+    private String mix = "initialize=1,tools/list=2,add=4,calculate=4,dotProduct=2,simulateRockPaperScissors=1";
+    private final List<Path> replay = new ArrayList<>();
+    private double speed = 1.0;
+    private int clients;
+    private Duration interval = Duration.ofSeconds(5);
+    private Duration timeout = Duration.ofSeconds(30);
+    private Path hlog;
+
+    private final LatencyStats stats = new LatencyStats();
+    private final LongAdder warmupCount = new LongAdder();
+    private final LongAdder warmupNanos = new LongAdder();
+    private final AtomicLong maxLag = new AtomicLong();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long expectedInterval;
+    private HttpClient client;
+    private long start;
+    private long measureFrom;
+    private long end;
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url" -> generator.url = URI.create(args[++i]);
+                case "--mode" -> generator.open = switch (args[++i]) {
+                    case "open" -> true;
+                    case "closed" -> false;
+                    default -> throw new IllegalArgumentException("--mode must be open or closed, got " + args[i]);
+                };
+                case "--connections" -> generator.connections = Integer.parseInt(args[++i]);
+                case "--rate" -> generator.rate = Double.parseDouble(args[++i]);
+                case "--duration" -> generator.duration = duration(args[++i]);
+                case "--warmup" -> generator.warmup = duration(args[++i]);
+                case "--mix" -> generator.mix = args[++i];
+                case "--replay" -> generator.replay.add(Paths.get(args[++i]));
+                case "--speed" -> generator.speed = Double.parseDouble(args[++i]);
+                case "--clients" -> generator.clients = Integer.parseInt(args[++i]);
+                case "--interval" -> generator.interval = duration(args[++i]);
+                case "--timeout" -> generator.timeout = duration(args[++i]);
+                case "--hlog" -> generator.hlog = Paths.get(args[++i]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        generator.run(System.out);
+    }
+
+    private void run(PrintStream out) throws Exception {
+        Workload workload = workload();
+        boolean timed = open && rate <= 0 && workload.hasTiming();
+        if (open && rate <= 0 && !timed) {
+            throw new IllegalArgumentException("An open loop needs --rate, or --replay of journal files");
+        }
+        if (timed) {
+            ((ReplayWorkload) workload).playOnce();
+        }
+        if (clients <= 0) {
+            clients = connections;
+        }
+        client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(timeout)
+            .build();
+
+        out.printf(Locale.ROOT, "%s loop against %s: %d connections, %s, %s warmup, %d clients%n",
+            open ? "Open" : "Closed", url, connections,
+            timed ? "recorded timing x" + speed : rate > 0 ? rate + " requests/s" : "back to back",
+            warmup, clients);
+
+        start = System.nanoTime();
+        measureFrom = start + warmup.toNanos();
+        end = measureFrom + duration.toNanos();
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadgen-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HistogramLogWriter log = hlog != null ? new HistogramLogWriter(hlog.toFile()) : null;
+        if (log != null) {
+            log.outputLogFormatVersion();
+            log.outputLegend();
+        }
+        long period = interval.toNanos();
+        // Starts the first interval when the warmup ends
+        reporter.schedule(stats::nextInterval, measureFrom - System.nanoTime(), TimeUnit.NANOSECONDS);
+        reporter.scheduleAtFixedRate(() -> report(out, log), measureFrom - System.nanoTime() + period, period,
+            TimeUnit.NANOSECONDS);
+
+        if (open) {
+            runOpen(workload, timed);
+        } else {
+            runClosed(workload);
+        }
+
+        reporter.shutdown();
+        reporter.awaitTermination(1, TimeUnit.MINUTES);
+        report(out, log);
+        if (log != null) {
+            log.close();
+        }
+        summarize(out, workload);
+    }
+
+    private Workload workload() throws IOException {
+        if (replay.isEmpty()) {
+            return MixWorkload.parse(mix);
+        }
+        return new ReplayWorkload(replay, speed);
+    }
+
+    /**
+     * Sends on a fixed schedule from one thread; responses are recorded as they complete.
+     * When every connection is busy the schedule keeps running, and the wait counts toward
+     * the latency of the delayed requests.
+     */
+    private void runOpen(Workload workload, boolean timed) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(connections);
+        double step = 1e9 / rate;
+        for (long i = 0; ; i++) {
+            Request request = workload.next();
+            if (request == null) {
+                break;
+            }
+            long intended = start + (timed ? request.offsetNanos() : (long) (i * step));
+            if (intended >= end) {
+                break;
+            }
+            sleepUntil(intended);
+            inFlight.acquire();
+            maxLag.accumulateAndGet(System.nanoTime() - intended, Math::max);
+            send(request).whenComplete((outcome, failure) -> {
+                inFlight.release();
+                record(request.name(), intended, outcome);
+            });
+        }
+        if (!inFlight.tryAcquire(connections, timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            System.err.println("Gave up waiting for " + (connections - inFlight.availablePermits())
+                + " requests still in flight");
+        }
+    }
+
+    /**
+     * Runs one sender thread per connection, each waiting for its response before sending
+     * again; with a rate, each sender keeps its own share of the schedule.
+     */
+    private void runClosed(Workload workload) throws InterruptedException {
+        Thread[] senders = new Thread[connections];
+        for (int s = 0; s < connections; s++) {
+            int sender = s;
+            senders[s] = new Thread(() -> {
+                double step = rate > 0 ? 1e9 * connections / rate : 0;
+                long offset = (long) (step * sender / connections);
+                for (long k = 0; ; k++) {
+                    long intended = step > 0 ? start + offset + (long) (k * step) : System.nanoTime();
+                    if (intended >= end) {
+                        break;
+                    }
+                    Request request = workload.next();
+                    if (request == null) {
+                        break;
+                    }
+                    sleepUntil(intended);
+                    Outcome outcome = send(request).join();
+                    record(request.name(), intended, outcome);
+                }
+            }, "loadgen-" + s);
+            senders[s].start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+    }
+
+    private CompletableFuture<Outcome> send(Request request) {
+        HttpRequest http = HttpRequest.newBuilder(url)
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .header("X-Client-Id", "loadgen-" + sequence.getAndIncrement() % clients)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(request.body()))
+            .build();
+        return client.sendAsync(http, HttpResponse.BodyHandlers.ofByteArray())
+            .thenApply(LoadGenerator::outcome)
+            .exceptionally(failure -> Outcome.FAILED);
+    }
+
+    private static Outcome outcome(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status == 429 || status == 503) {
+            return Outcome.REJECTED;
+        }
+        if (status < 200 || status >= 300) {
+            return Outcome.FAILED;
+        }
+        return indexOf(response.body(), ERROR_MEMBER) >= 0 ? Outcome.ERROR : Outcome.OK;
+    }
+
+    private void record(String name, long intended, Outcome outcome) {
+        long latency = System.nanoTime() - intended;
+        if (intended < measureFrom) {
+            warmupCount.increment();
+            warmupNanos.add(latency);
+            return;
+        }
+        long expected = open || rate > 0 ? 0 : expectedInterval();
+        stats.record(name, latency, expected, outcome);
+    }
+
+    /**
+     * The expected interval between requests of one closed-loop sender: the mean warmup
+     * latency, or 0 (no correction) without a warmup.
+     */
+    private long expectedInterval() {
+        long value = expectedInterval;
+        if (value == 0) {
+            long count = warmupCount.sum();
+            value = count > 0 ? warmupNanos.sum() / count : -1;
+            expectedInterval = value;
+        }
+        return Math.max(value, 0);
+    }
+
+    private synchronized void report(PrintStream out, HistogramLogWriter log) {
+        Histogram histogram = stats.nextInterval();
+        if (log != null) {
+            log.outputIntervalHistogram(histogram);
+        }
+        double seconds = (histogram.getEndTimeStamp() - histogram.getStartTimeStamp()) / 1000.0;
+        out.printf(Locale.ROOT, "%8.1fs %10d requests %10.1f/s   p50 %9.3f   p99 %9.3f   max %9.3f ms%n",
+            (System.nanoTime() - measureFrom) / 1e9, histogram.getTotalCount(),
+            seconds > 0 ? histogram.getTotalCount() / seconds : 0,
+            LatencyStats.millis(histogram.getValueAtPercentile(50)),
+            LatencyStats.millis(histogram.getValueAtPercentile(99)),
+            LatencyStats.millis(histogram.getMaxValue()));
+    }
+
+    private void summarize(PrintStream out, Workload workload) {
+        long ok = stats.count(Outcome.OK);
+        long errors = stats.count(Outcome.ERROR);
+        long rejected = stats.count(Outcome.REJECTED);
+        long failed = stats.count(Outcome.FAILED);
+        long total = ok + errors + rejected + failed;
+        double seconds = Math.min(System.nanoTime(), end) - measureFrom;
+        seconds = Math.max(seconds, 1) / 1e9;
+        out.println();
+        out.printf(Locale.ROOT, "%d requests in %.1fs, %.1f/s: %d ok, %d errors, %d rejected, %d failed%n",
+            total, seconds, total / seconds, ok, errors, rejected, failed);
+        stats.printTotals(out);
+        if (open) {
+            out.printf(Locale.ROOT, "Latency is measured from the scheduled send time; the largest send delay was %.3f ms%n",
+                LatencyStats.millis(maxLag.get()));
+        } else if (rate > 0) {
+            out.println("Latency is measured from the scheduled send time");
+        } else if (expectedInterval > 0) {
+            out.printf(Locale.ROOT, "Corrected for coordinated omission with an expected interval of %.3f ms%n",
+                LatencyStats.millis(expectedInterval));
+        } else {
+            out.println("Not corrected for coordinated omission: a closed loop without --rate needs a warmup");
+        }
+        if (workload instanceof ReplayWorkload replayed && replayed.getSkipped() > 0) {
+            out.printf(Locale.ROOT, "%d recorded lines could not be replayed%n", replayed.getSkipped());
+        }
+    }
+
+    private static void sleepUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static Duration duration(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        char unit = value.charAt(value.length() - 1);
+        if (Character.isDigit(unit)) {
+            return Duration.ofSeconds(Long.parseLong(value));
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (unit) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Unknown duration unit in " + text);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.mcpserver.loadgen;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * MixWorkload - Endless stream of built-in requests picked at random with fixed weights.
+ *
+ * The mix is written as {@code name=weight,...}, e.g. {@code tools/list=1,add=4,calculate=2};
+ * a name without a weight counts once.
+ *
+ * @author mcp-server
+ */
+final class MixWorkload implements Workload {
+
+    private final String[] names;
+    private final int[] cumulative;
+
+    MixWorkload(Map<String, Integer> weights) {
+        List<String> picked = new ArrayList<>();
+        List<Integer> bounds = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (!RequestTemplates.contains(entry.getKey())) {
+                throw new IllegalArgumentException("No request template for " + entry.getKey()
+                    + "; known: " + RequestTemplates.names() + " (use --replay for other requests)");
+            }
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                picked.add(entry.getKey());
+                bounds.add(total);
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix needs at least one positive weight");
+        }
+        this.names = picked.toArray(String[]::new);
+        this.cumulative = bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    static MixWorkload parse(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String item = part.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int eq = item.lastIndexOf('=');
+            if (eq < 0) {
+                weights.merge(item, 1, Integer::sum);
+            } else {
+                weights.merge(item.substring(0, eq).trim(), Integer.parseInt(item.substring(eq + 1).trim()), Integer::sum);
+            }
+        }
+        return new MixWorkload(weights);
+    }
+
+    @Override
+    public Request next() {
+        int ticket = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+        int i = 0;
+        while (cumulative[i] <= ticket) {
+            i++;
+        }
+        return new Request(names[i], RequestTemplates.render(names[i]), -1);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.mcpserver.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * ReplayWorkload - Requests read from recorded JSON-lines files and sent again in order.
+ *
+ * Each line is either a JSON-RPC request, sent as it is, or a request journal record
+ * ({@code journal/requests-*.jsonl}), which is turned back into a request from the
+ * built-in template for its tool or method. A journal record is written when its request
+ * completes, so the arrival time is taken as its timestamp minus its latency, and records
+ * are sent in arrival order. An open-loop run without a rate replays that arrival pattern
+ * and stops at the end of the recording. Otherwise the requests are sent round and round
+ * until the run ends.
+ *
+ * Journal records of batches, drop markers, and methods or tools without a template are
+ * skipped and counted.
+ *
+ * @author mcp-server
+ */
+final class ReplayWorkload implements Workload {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final AtomicLong position = new AtomicLong();
+    private final boolean timed;
+    private final double speed;
+    private boolean cycle = true;
+    private long skipped;
+
+    ReplayWorkload(List<Path> paths, double speed) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        boolean allTimed = true;
+        for (Path path : paths) {
+            for (Path file : files(path)) {
+                try (BufferedReader lines = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = lines.readLine()) != null) {
+                        if (line.isBlank()) {
+                            continue;
+                        }
+                        JsonNode node;
+                        try {
+                            node = objectMapper.readTree(line);
+                        } catch (IOException e) {
+                            skipped++;
+                            continue;
+                        }
+                        Entry entry = node.has("jsonrpc") ? request(node, line) : journalRecord(node);
+                        if (entry == null) {
+                            skipped++;
+                            continue;
+                        }
+                        allTimed &= entry.timestamp >= 0;
+                        entries.add(entry);
+                    }
+                }
+            }
+        }
+        if (entries.isEmpty()) {
+            throw new IllegalArgumentException("No replayable requests in " + paths);
+        }
+        this.timed = allTimed;
+        this.speed = speed;
+        if (timed) {
+            entries.sort(Comparator.comparingLong(Entry::timestamp));
+            long firstTimestamp = entries.get(0).timestamp;
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                entries.set(i, new Entry(entry.name, entry.body, entry.timestamp - firstTimestamp));
+            }
+        }
+    }
+
+    /**
+     * Sends the recording once instead of round and round; used when following its timing.
+     */
+    void playOnce() {
+        this.cycle = false;
+    }
+
+    long getSkipped() {
+        return skipped;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    @Override
+    public boolean hasTiming() {
+        return timed;
+    }
+
+    @Override
+    public Request next() {
+        long index = position.getAndIncrement();
+        if (!cycle && index >= entries.size()) {
+            return null;
+        }
+        Entry entry = entries.get((int) (index % entries.size()));
+        byte[] body = entry.body != null ? entry.body : RequestTemplates.render(entry.name);
+        long offset = timed ? (long) (TimeUnit.MICROSECONDS.toNanos(entry.timestamp) / speed) : -1;
+        return new Request(entry.name, body, offset);
+    }
+
+    private static Entry request(JsonNode node, String line) {
+        String method = node.path("method").asText(null);
+        if (method == null) {
+            return null;
+        }
+        String name = "tools/call".equals(method) ? node.path("params").path("name").asText(method) : method;
+        return new Entry(name, line.getBytes(StandardCharsets.UTF_8), -1);
+    }
+
+    private static Entry journalRecord(JsonNode node) {
+        if (!node.has("method") || !node.has("ts")) {
+            return null;
+        }
+        String name = node.has("tool") ? node.get("tool").asText() : node.get("method").asText();
+        if (!RequestTemplates.contains(name)) {
+            return null;
+        }
+        long arrivalMicros = node.get("ts").asLong() * 1_000 - node.path("latencyUs").asLong();
+        return new Entry(name, null, arrivalMicros);
+    }
+
+    private static List<Path> files(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jsonl")).sorted().toList();
+        }
+    }
+
+    /**
+     * A recorded request: a verbatim body, or a template name ({@code body == null}), with
+     * its arrival time in microseconds, or -1 if unknown.
+     */
+    private record Entry(String name, byte[] body, long timestamp) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.mcpserver.loadgen;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RequestTemplates - Built-in request bodies for each MCP method and tool, keyed by name.
+ *
+ * A name is either a JSON-RPC method ({@code initialize}, {@code tools/list}, {@code ping})
+ * or a tool name, which is sent as {@code tools/call}. Every rendered body gets a fresh id,
+ * so concurrent requests never share one.
+ *
+ * @author mcp-server
+ */
+final class RequestTemplates {
+
+    private static final Map<String, Template> TEMPLATES = new TreeMap<>();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    static {
+        method("initialize",
+            "{\"protocolVersion\":\"2024-11-05\",\"capabilities\":{},\"clientInfo\":{\"name\":\"loadgen\",\"version\":\"1.0\"}}");
+        method("tools/list", "{}");
+        method("ping", "{}");
+
+        String pair = "{\"a\":12.5,\"b\":30}";
+        for (String tool : new String[] {"add", "subtract", "multiply", "divide"}) {
+            tool(tool, pair);
+        }
+        tool("calculate", "{\"expression\":\"(2 + 3) * 4 - 10 / 5\"}");
+        tool("rockPaperScissors", "{}");
+        tool("getRandomChoice", "{}");
+        tool("playRockPaperScissors", "{\"playerChoice\":\"rock\"}");
+        tool("simulateRockPaperScissors", "{\"rounds\":10000,\"strategy\":\"random\"}");
+
+        String arrays = "{\"a\":" + array(1000, 0.5) + ",\"b\":" + array(1000, 1.5) + "}";
+        for (String tool : new String[] {"addArrays", "subtractArrays", "multiplyArrays", "divideArrays", "dotProduct"}) {
+            tool(tool, arrays);
+        }
+        String values = "{\"values\":" + array(1000, 0.25) + "}";
+        for (String tool : new String[] {"sumArray", "minArray", "maxArray"}) {
+            tool(tool, values);
+        }
+        tool("tabulate", "{\"expression\":\"x * x / 2 + 3\",\"start\":-10,\"end\":10,\"count\":1000}");
+    }
+
+    private RequestTemplates() {
+    }
+
+    static boolean contains(String name) {
+        return TEMPLATES.containsKey(name);
+    }
+
+    static Set<String> names() {
+        return TEMPLATES.keySet();
+    }
+
+    /**
+     * Returns a body for {@code name} with a fresh id.
+     */
+    static byte[] render(String name) {
+        Template template = TEMPLATES.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("No request template for " + name + "; known: " + names());
+        }
+        return template.render(IDS.incrementAndGet());
+    }
+
+    private static void method(String method, String params) {
+        TEMPLATES.put(method, new Template("{\"jsonrpc\":\"2.0\",\"id\":",
+            ",\"method\":\"" + method + "\",\"params\":" + params + "}"));
+    }
+
+    private static void tool(String tool, String arguments) {
+        TEMPLATES.put(tool, new Template("{\"jsonrpc\":\"2.0\",\"id\":",
+            ",\"method\":\"tools/call\",\"params\":{\"name\":\"" + tool + "\",\"arguments\":" + arguments + "}}"));
+    }
+
+    private static String array(int size, double step) {
+        StringBuilder json = new StringBuilder(size * 8).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(String.format(Locale.ROOT, "%.2f", 1 + i * step));
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * A body split around its id.
+     */
+    private record Template(byte[] prefix, byte[] suffix) {
+
+        Template(String prefix, String suffix) {
+            this(prefix.getBytes(StandardCharsets.UTF_8), suffix.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] render(long id) {
+            byte[] digits = Long.toString(id).getBytes(StandardCharsets.US_ASCII);
+            byte[] body = new byte[prefix.length + digits.length + suffix.length];
+            System.arraycopy(prefix, 0, body, 0, prefix.length);
+            System.arraycopy(digits, 0, body, prefix.length, digits.length);
+            System.arraycopy(suffix, 0, body, prefix.length + digits.length, suffix.length);
+            return body;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.mcpserver.loadgen;
+
+/**
+ * Workload - Source of the requests a load run sends.
+ *
+ * Implementations are called from every sender thread at once and must be thread-safe.
+ *
+ * @author mcp-server
+ */
+interface Workload {
+
+    /**
+     * Returns the next request, or null when a finite workload is exhausted.
+     */
+    Request next();
+
+    /**
+     * Whether requests carry their recorded send offset, so an open-loop run can keep the
+     * original arrival pattern instead of a fixed rate.
+     */
+    default boolean hasTiming() {
+        return false;
+    }
+
+    /**
+     * One request body.
+     *
+     * @param name         method or tool name the latency is reported under
+     * @param body         JSON-RPC request body
+     * @param offsetNanos  recorded send time relative to the first request, or -1 if unknown
+     */
+    record Request(String name, byte[] body, long offsetNanos) {
+    }
+}
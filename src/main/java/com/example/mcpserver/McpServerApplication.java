@@ -1,7 +1,10 @@
 package com.example.mcpserver;
 
+import com.example.mcpserver.config.McpRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 /**
  * Main application class for the MCP Server.
@@ -13,6 +16,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * @version 1.0.0
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(McpRuntimeHints.class)
 public class McpServerApplication {
 
     public static void main(String[] args) {
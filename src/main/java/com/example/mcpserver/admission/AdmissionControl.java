@@ -0,0 +1,232 @@
+package com.example.mcpserver.admission;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AdmissionControl - Decides whether a POST /api/v1/mpc request may run, before its body is decoded.
+ *
+ * Three checks run in order:
+ * <ol>
+ *   <li>Per-client token buckets, keyed by the configured client header or the remote address</li>
+ *   <li>A global concurrency limit that adapts to observed latency ({@link GradientLimit})</li>
+ *   <li>A small pool of reserved permits that only priority methods (ping, initialize by
+ *       default) may use once the global limit is reached</li>
+ * </ol>
+ * Priority methods are rate limited like any other request; only the reserved permits keep
+ * health checks working once the server itself is saturated.
+ *
+ * @author mcp-server
+ */
+@Component
+public class AdmissionControl {
+
+    /**
+     * Result of an admission check.
+     */
+    public enum Outcome {
+        ADMITTED,
+        RATE_LIMITED,
+        OVERLOADED
+    }
+
+    private static final Permit UNLIMITED = new Permit(null, Outcome.ADMITTED, false, 0, 0, 0);
+    private static final Permit OVERLOADED = new Permit(null, Outcome.OVERLOADED, false, 0, 0, 1);
+
+    private final boolean enabled;
+    private final int reservedPermits;
+    private final GradientLimit limit;
+    private final RequestClassifier classifier;
+    private final String clientHeader;
+    private final double clientRate;
+    private final int clientBurst;
+    private final Cache<String, TokenBucket> buckets;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger reservedInFlight = new AtomicInteger();
+    private final Counter rateLimited;
+    private final Counter overloaded;
+
+    public AdmissionControl(McpServerProperties properties, MeterRegistry registry) {
+        McpServerProperties.Admission config = properties.getAdmission();
+        this.enabled = config.isEnabled();
+        this.reservedPermits = Math.max(0, config.getReservedPermits());
+        this.limit = new GradientLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+            config.getLatencyTolerance());
+        this.classifier = new RequestClassifier(config.getPriorityMethods());
+        this.clientHeader = config.getClientHeader();
+        this.clientRate = config.getClientRate();
+        this.clientBurst = config.getClientBurst();
+        this.buckets = clientRate > 0
+            ? Caffeine.newBuilder()
+                .maximumSize(config.getMaxClients())
+                .expireAfterAccess(idleExpiry(clientRate, clientBurst))
+                .build()
+            : null;
+
+        Gauge.builder("mcp.admission.limit", limit, GradientLimit::get)
+            .description("Current adaptive concurrency limit")
+            .register(registry);
+        Gauge.builder("mcp.admission.in.flight", inFlight, AtomicInteger::get)
+            .description("Requests holding a regular admission permit")
+            .register(registry);
+        Gauge.builder("mcp.admission.reserved.in.flight", reservedInFlight, AtomicInteger::get)
+            .description("Priority requests holding a reserved permit")
+            .register(registry);
+        rateLimited = rejectionCounter(registry, "rate_limited");
+        overloaded = rejectionCounter(registry, "overloaded");
+    }
+
+    /**
+     * Checks a request against the rate limit and concurrency limits.
+     * An admitted permit must be released exactly once when the request completes.
+     */
+    public Permit tryAcquire(String clientKey, byte[] body) {
+        if (!enabled) {
+            return UNLIMITED;
+        }
+        boolean priority = classifier.isPriority(body);
+        long now = System.nanoTime();
+
+        if (buckets != null) {
+            long waitNanos = buckets.get(clientKey, key -> new TokenBucket(clientRate, clientBurst, now))
+                .tryConsume(now);
+            if (waitNanos > 0) {
+                rateLimited.increment();
+                return new Permit(null, Outcome.RATE_LIMITED, false, 0, 0,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            }
+        }
+
+        int current = tryIncrement(inFlight, limit.get());
+        if (current >= 0) {
+            return new Permit(this, Outcome.ADMITTED, false, now, current, 0);
+        }
+        if (priority && tryIncrement(reservedInFlight, reservedPermits) >= 0) {
+            return new Permit(this, Outcome.ADMITTED, true, now, 0, 0);
+        }
+        overloaded.increment();
+        return OVERLOADED;
+    }
+
+    /**
+     * Returns the rate-limit key for a request: the client header if present, else the remote address.
+     */
+    public String clientKey(ServerHttpRequest request) {
+        if (request == null) {
+            return "unknown";
+        }
+        String header = clientHeader == null ? null : request.getHeaders().getFirst(clientHeader);
+        if (header != null && !header.isBlank()) {
+            return header;
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    private void release(Permit permit) {
+        if (permit.reserved) {
+            reservedInFlight.decrementAndGet();
+            return;
+        }
+        inFlight.decrementAndGet();
+        limit.onSample(System.nanoTime() - permit.startNanos, permit.inFlightAtStart);
+    }
+
+    /**
+     * Increments the counter if it is below the bound.
+     *
+     * @return the new value, or -1 if the bound was reached
+     */
+    private static int tryIncrement(AtomicInteger counter, int bound) {
+        while (true) {
+            int current = counter.get();
+            if (current >= bound) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * A bucket left idle long enough to refill completely is equivalent to a new one.
+     */
+    private static Duration idleExpiry(double rate, int burst) {
+        long seconds = (long) Math.ceil(Math.max(1, burst) / rate);
+        return Duration.ofSeconds(Math.max(60, seconds));
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("mcp.admission.rejected")
+            .description("Requests rejected before decoding")
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    /**
+     * Permit - The outcome of an admission check, released when an admitted request completes.
+     */
+    public static final class Permit {
+
+        private final AdmissionControl owner;
+        private final Outcome outcome;
+        private final boolean reserved;
+        private final long startNanos;
+        private final int inFlightAtStart;
+        private final long retryAfterSeconds;
+
+        private Permit(AdmissionControl owner, Outcome outcome, boolean reserved,
+                       long startNanos, int inFlightAtStart, long retryAfterSeconds) {
+            this.owner = owner;
+            this.outcome = outcome;
+            this.reserved = reserved;
+            this.startNanos = startNanos;
+            this.inFlightAtStart = inFlightAtStart;
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public boolean isAdmitted() {
+            return outcome == Outcome.ADMITTED;
+        }
+
+        /**
+         * Seconds a rejected client should wait before retrying.
+         */
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        /**
+         * Returns the permit and feeds the request's latency to the adaptive limit.
+         * Does nothing for rejected permits or when admission control is disabled.
+         */
+        public void release() {
+            if (owner != null) {
+                owner.release(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.mcpserver.admission;
+
+/**
+ * GradientLimit - A concurrency limit that adapts to observed latency.
+ *
+ * Tracks a long-term latency baseline and a short-term average. While the short-term
+ * average stays within {@code tolerance} times the baseline, the limit grows by
+ * roughly its square root per sample. When latency rises above that, the limit
+ * shrinks in proportion, but by at most half. Updates are smoothed and clamped to
+ * [min, max]. Samples taken while less than half the limit is in use are ignored,
+ * so an idle server does not inflate its limit.
+ *
+ * @author mcp-server
+ */
+final class GradientLimit {
+
+    private static final int LONG_WINDOW = 600;
+    private static final int SHORT_WINDOW = 10;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+
+    private volatile double limit;
+    private double longRtt;
+    private double shortRtt;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+    }
+
+    /**
+     * Returns the current limit, rounded down. Reads do not take the update lock.
+     */
+    int get() {
+        return (int) limit;
+    }
+
+    /**
+     * Feeds one completed request's latency, with the number of requests in flight when it started.
+     */
+    synchronized void onSample(long rttNanos, int inFlight) {
+        if (longRtt == 0) {
+            longRtt = rttNanos;
+            shortRtt = rttNanos;
+            return;
+        }
+        shortRtt += (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt += (rttNanos - longRtt) / LONG_WINDOW;
+
+        // After a sustained drop in latency, let the baseline catch up quickly
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
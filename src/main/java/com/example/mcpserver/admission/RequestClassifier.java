@@ -0,0 +1,135 @@
+package com.example.mcpserver.admission;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * RequestClassifier - Finds the JSON-RPC method of a raw request body without parsing it.
+ *
+ * Walks the members of the top-level object, skipping nested values and strings, and
+ * compares the string value of its {@code "method"} member byte by byte against the
+ * priority methods. A {@code "method"} key inside {@code params} or any other nested
+ * value is ignored. Anything the decoder might read differently is never priority:
+ * batches, escaped top-level keys, a repeated {@code "method"} member, and method values
+ * that are not plain strings.
+ *
+ * @author mcp-server
+ */
+final class RequestClassifier {
+
+    private static final byte[] METHOD = "method".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[][] priorityMethods;
+
+    RequestClassifier(List<String> priorityMethods) {
+        this.priorityMethods = new byte[priorityMethods.size()][];
+        for (int i = 0; i < priorityMethods.size(); i++) {
+            this.priorityMethods[i] = priorityMethods.get(i).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    boolean isPriority(byte[] body) {
+        int pos = skipWhitespace(body, 0);
+        if (pos >= body.length || body[pos] != '{') {
+            return false;
+        }
+        int valueStart = -1;
+        int valueEnd = -1;
+        int depth = 0;
+        boolean expectKey = false;
+        for (; pos < body.length; pos++) {
+            byte b = body[pos];
+            if (b == '"') {
+                int end = stringEnd(body, pos);
+                if (end < 0) {
+                    return false;
+                }
+                if (depth == 1 && expectKey) {
+                    expectKey = false;
+                    if (indexOf(body, (byte) '\\', pos + 1, end) >= 0) {
+                        return false;
+                    }
+                    if (end - pos - 1 == METHOD.length && regionMatches(body, pos + 1, METHOD)) {
+                        if (valueStart >= 0) {
+                            return false;
+                        }
+                        int value = skipWhitespace(body, end + 1);
+                        if (value >= body.length || body[value] != ':') {
+                            return false;
+                        }
+                        value = skipWhitespace(body, value + 1);
+                        if (value >= body.length || body[value] != '"') {
+                            return false;
+                        }
+                        valueStart = value + 1;
+                        valueEnd = stringEnd(body, value);
+                        if (valueEnd < 0) {
+                            return false;
+                        }
+                        end = valueEnd;
+                    }
+                }
+                pos = end;
+                continue;
+            }
+            if (b == '{' || b == '[') {
+                depth++;
+                expectKey = depth == 1;
+            } else if (b == '}' || b == ']') {
+                if (--depth == 0) {
+                    break;
+                }
+            } else if (b == ',' && depth == 1) {
+                expectKey = true;
+            }
+        }
+        if (valueStart < 0 || indexOf(body, (byte) '\\', valueStart, valueEnd) >= 0) {
+            return false;
+        }
+        for (byte[] method : priorityMethods) {
+            if (valueEnd - valueStart == method.length && regionMatches(body, valueStart, method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the index of the quote closing the string that opens at {@code quote}, or -1.
+     */
+    private static int stringEnd(byte[] body, int quote) {
+        for (int i = quote + 1; i < body.length; i++) {
+            if (body[i] == '\\') {
+                i++;
+            } else if (body[i] == '"') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] body, int pos) {
+        while (pos < body.length && (body[pos] == ' ' || body[pos] == '\t' || body[pos] == '\n' || body[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int indexOf(byte[] body, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (body[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(byte[] body, int offset, byte[] expected) {
+        for (int i = 0; i < expected.length; i++) {
+            if (body[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.mcpserver.config;
+
+import com.example.mcpserver.rpc.JsonRpcError;
+import com.example.mcpserver.rpc.JsonRpcResponse;
+import com.example.mcpserver.rpc.ToolCallResult;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * McpRuntimeHints - Reflection hints for the response records Jackson serializes, so
+ * they bind in a native image. Tool methods get their hints from the AOT tool index.
+ *
+ * @author mcp-server
+ */
+public class McpRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+            JsonRpcResponse.class, JsonRpcError.class, ToolCallResult.class, ToolCallResult.Content.class);
+    }
+}
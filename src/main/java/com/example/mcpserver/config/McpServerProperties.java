@@ -0,0 +1,621 @@
+package com.example.mcpserver.config;
+
+import com.example.mcpserver.transport.SseOverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * McpServerProperties - Tuning knobs for the custom MCP HTTP endpoint, bound from {@code mcp.*}.
+ *
+ * @author mcp-server
+ */
+@ConfigurationProperties(prefix = "mcp")
+public class McpServerProperties {
+
+    private final Batch batch = new Batch();
+    private final Sse sse = new Sse();
+    private final Tools tools = new Tools();
+    private final Admission admission = new Admission();
+    private final Journal journal = new Journal();
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Sse getSse() {
+        return sse;
+    }
+
+    public Tools getTools() {
+        return tools;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * JSON-RPC batch request handling.
+     */
+    public static class Batch {
+
+        /**
+         * Maximum number of entries accepted in a single batch array.
+         */
+        private int maxSize = 50;
+
+        /**
+         * Batch entries dispatched concurrently; tool calls still go through the tool pools.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+        }
+    }
+
+    /**
+     * Session-based SSE transport on GET /api/v1/mpc.
+     */
+    public static class Sse {
+
+        /**
+         * Interval between heartbeat comments; also how often expired sessions are swept.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * How long a session without a connection is kept for resumption.
+         */
+        private Duration sessionTtl = Duration.ofMinutes(5);
+
+        /**
+         * Maximum number of concurrent sessions.
+         */
+        private int maxSessions = 10_000;
+
+        /**
+         * Events retained per session for Last-Event-ID resumption.
+         */
+        private int replayBufferSize = 64;
+
+        /**
+         * Total size of the event data retained for resumption per session; older events are
+         * evicted first, and a single event larger than this is not retained at all.
+         */
+        private DataSize replayBufferBytes = DataSize.ofKilobytes(256);
+
+        /**
+         * Events queued per connection before the overflow policy applies.
+         */
+        private int sendBufferSize = 256;
+
+        /**
+         * What to do when a slow client's send buffer is full.
+         */
+        private SseOverflowPolicy overflowPolicy = SseOverflowPolicy.DROP;
+
+        /**
+         * Events a streamed tool result may have queued on the connection before its producer
+         * waits for the client to catch up.
+         */
+        private int streamWindow = 4;
+
+        /**
+         * How long a streamed tool result waits for the client to catch up before the call fails.
+         */
+        private Duration streamSendTimeout = Duration.ofSeconds(30);
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getSessionTtl() {
+            return sessionTtl;
+        }
+
+        public void setSessionTtl(Duration sessionTtl) {
+            this.sessionTtl = sessionTtl;
+        }
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        public void setMaxSessions(int maxSessions) {
+            this.maxSessions = maxSessions;
+        }
+
+        public int getReplayBufferSize() {
+            return replayBufferSize;
+        }
+
+        public void setReplayBufferSize(int replayBufferSize) {
+            this.replayBufferSize = replayBufferSize;
+        }
+
+        public DataSize getReplayBufferBytes() {
+            return replayBufferBytes;
+        }
+
+        public void setReplayBufferBytes(DataSize replayBufferBytes) {
+            this.replayBufferBytes = replayBufferBytes;
+        }
+
+        public int getSendBufferSize() {
+            return sendBufferSize;
+        }
+
+        public void setSendBufferSize(int sendBufferSize) {
+            this.sendBufferSize = sendBufferSize;
+        }
+
+        public SseOverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(SseOverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public int getStreamWindow() {
+            return streamWindow;
+        }
+
+        public void setStreamWindow(int streamWindow) {
+            this.streamWindow = streamWindow;
+        }
+
+        public Duration getStreamSendTimeout() {
+            return streamSendTimeout;
+        }
+
+        public void setStreamSendTimeout(Duration streamSendTimeout) {
+            this.streamSendTimeout = streamSendTimeout;
+        }
+    }
+
+    /**
+     * Tool execution: worker pools per tool category and call timeouts.
+     */
+    public static class Tools {
+
+        /**
+         * Timeout applied to tools without an entry in {@code timeouts}.
+         */
+        private Duration defaultTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Per-tool timeouts keyed by tool name.
+         */
+        private Map<String, Duration> timeouts = new HashMap<>();
+
+        /**
+         * Pool used by categories without an entry in {@code pools}.
+         */
+        private Pool defaultPool = new Pool();
+
+        /**
+         * Worker pools keyed by tool category (e.g. calculator, game).
+         */
+        private Map<String, Pool> pools = new HashMap<>();
+
+        /**
+         * Result cache for tools marked deterministic.
+         */
+        private final ResultCache resultCache = new ResultCache();
+
+        /**
+         * Whether identical concurrent calls to deterministic tools share one execution.
+         */
+        private boolean coalesceCalls = true;
+
+        /**
+         * Minimum time between progress notifications sent for one tool call.
+         */
+        private Duration progressInterval = Duration.ofMillis(100);
+
+        public Duration getDefaultTimeout() {
+            return defaultTimeout;
+        }
+
+        public void setDefaultTimeout(Duration defaultTimeout) {
+            this.defaultTimeout = defaultTimeout;
+        }
+
+        public Map<String, Duration> getTimeouts() {
+            return timeouts;
+        }
+
+        public void setTimeouts(Map<String, Duration> timeouts) {
+            this.timeouts = timeouts;
+        }
+
+        public Pool getDefaultPool() {
+            return defaultPool;
+        }
+
+        public void setDefaultPool(Pool defaultPool) {
+            this.defaultPool = defaultPool;
+        }
+
+        public Map<String, Pool> getPools() {
+            return pools;
+        }
+
+        public void setPools(Map<String, Pool> pools) {
+            this.pools = pools;
+        }
+
+        public ResultCache getResultCache() {
+            return resultCache;
+        }
+
+        public boolean isCoalesceCalls() {
+            return coalesceCalls;
+        }
+
+        public void setCoalesceCalls(boolean coalesceCalls) {
+            this.coalesceCalls = coalesceCalls;
+        }
+
+        public Duration getProgressInterval() {
+            return progressInterval;
+        }
+
+        public void setProgressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+        }
+    }
+
+    /**
+     * Memoized results of deterministic tool calls, keyed by tool name and arguments.
+     */
+    public static class ResultCache {
+
+        /**
+         * Whether results of deterministic tools are cached at all.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of cached results; eviction is size-based (W-TinyLFU).
+         */
+        private long maxSize = 10_000;
+
+        /**
+         * How long a result stays cached after it was computed; unset means no expiry.
+         */
+        private Duration ttl;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * A bounded worker pool.
+     */
+    public static class Pool {
+
+        /**
+         * Worker threads in the pool.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Calls that may wait for a worker before new ones are rejected.
+         */
+        private int queueCapacity = 256;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    /**
+     * Admission control in front of POST /api/v1/mpc: an adaptive concurrency limit,
+     * capacity reserved for priority methods, and per-client rate limits.
+     */
+    public static class Admission {
+
+        /**
+         * Whether requests are subject to admission control at all.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Concurrency limit before any latency has been observed.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Floor for the adaptive concurrency limit.
+         */
+        private int minLimit = 4;
+
+        /**
+         * Ceiling for the adaptive concurrency limit.
+         */
+        private int maxLimit = 200;
+
+        /**
+         * How much the short-term latency may exceed the long-term baseline before the limit shrinks.
+         */
+        private double latencyTolerance = 1.5;
+
+        /**
+         * Extra concurrent requests reserved for priority methods when the main limit is reached.
+         */
+        private int reservedPermits = 4;
+
+        /**
+         * JSON-RPC methods that may use the reserved permits. They still count against per-client rate limits.
+         */
+        private List<String> priorityMethods = new ArrayList<>(List.of("ping", "initialize", "notifications/cancelled"));
+
+        /**
+         * Requests per second each client may sustain; 0 disables per-client rate limiting.
+         */
+        private double clientRate = 50;
+
+        /**
+         * Requests a client may send in a burst above its sustained rate.
+         */
+        private int clientBurst = 100;
+
+        /**
+         * Header identifying the client; the remote address is used when it is absent.
+         */
+        private String clientHeader = "X-Client-Id";
+
+        /**
+         * Maximum number of clients tracked; idle clients are forgotten first.
+         */
+        private long maxClients = 100_000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getLatencyTolerance() {
+            return latencyTolerance;
+        }
+
+        public void setLatencyTolerance(double latencyTolerance) {
+            this.latencyTolerance = latencyTolerance;
+        }
+
+        public int getReservedPermits() {
+            return reservedPermits;
+        }
+
+        public void setReservedPermits(int reservedPermits) {
+            this.reservedPermits = reservedPermits;
+        }
+
+        public List<String> getPriorityMethods() {
+            return priorityMethods;
+        }
+
+        public void setPriorityMethods(List<String> priorityMethods) {
+            this.priorityMethods = priorityMethods;
+        }
+
+        public double getClientRate() {
+            return clientRate;
+        }
+
+        public void setClientRate(double clientRate) {
+            this.clientRate = clientRate;
+        }
+
+        public int getClientBurst() {
+            return clientBurst;
+        }
+
+        public void setClientBurst(int clientBurst) {
+            this.clientBurst = clientBurst;
+        }
+
+        public String getClientHeader() {
+            return clientHeader;
+        }
+
+        public void setClientHeader(String clientHeader) {
+            this.clientHeader = clientHeader;
+        }
+
+        public long getMaxClients() {
+            return maxClients;
+        }
+
+        public void setMaxClients(long maxClients) {
+            this.maxClients = maxClients;
+        }
+    }
+
+    /**
+     * Asynchronous request journal written to rolling JSON-lines files.
+     */
+    public static class Journal {
+
+        /**
+         * Whether requests are journaled at all.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Directory the journal files are written to.
+         */
+        private String directory = "journal";
+
+        /**
+         * Records buffered in memory ahead of the writer; rounded up to a power of two.
+         * Records arriving while the buffer is full are dropped and counted.
+         */
+        private int capacity = 65536;
+
+        /**
+         * Fraction of successful requests recorded; failed requests are always recorded.
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Size at which a journal file is closed and a new one started.
+         */
+        private DataSize maxFileSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Journal files kept; the oldest are deleted beyond this count.
+         */
+        private int maxFiles = 10;
+
+        /**
+         * Longest time written records stay in the writer's buffer while requests keep arriving.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public DataSize getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(DataSize maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxFiles() {
+            return maxFiles;
+        }
+
+        public void setMaxFiles(int maxFiles) {
+            this.maxFiles = maxFiles;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+    }
+}
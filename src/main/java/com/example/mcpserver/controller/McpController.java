@@ -1,67 +1,343 @@
 package com.example.mcpserver.controller;
 
-import com.example.mcpserver.service.CalculatorService;
-import com.example.mcpserver.service.GameService;
+import com.example.mcpserver.admission.AdmissionControl;
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.journal.RequestJournal;
+import com.example.mcpserver.metrics.McpMetrics;
+import com.example.mcpserver.rpc.CborCodec;
+import com.example.mcpserver.rpc.JsonRpcDecoder;
+import com.example.mcpserver.rpc.JsonRpcError;
+import com.example.mcpserver.rpc.JsonRpcPayload;
+import com.example.mcpserver.rpc.JsonRpcRequest;
+import com.example.mcpserver.rpc.JsonRpcResponse;
+import com.example.mcpserver.rpc.PendingRequests;
+import com.example.mcpserver.rpc.PreEncodedResponse;
+import com.example.mcpserver.rpc.RawJson;
+import com.example.mcpserver.rpc.ToolCallResult;
+import com.example.mcpserver.rpc.WireFormat;
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolCancelledException;
+import com.example.mcpserver.tool.ToolCallCoalescer;
+import com.example.mcpserver.tool.ToolContext;
+import com.example.mcpserver.tool.ToolExecutor;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.example.mcpserver.tool.ToolResultCache;
+import com.example.mcpserver.tool.ToolTimeoutException;
+import com.example.mcpserver.transport.SseSession;
+import com.example.mcpserver.transport.SseSessionRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
 
 /**
  * MCP API Controller - Handles endpoints for Model Context Protocol (MCP) requests.
  */
 @RestController
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = "Mcp-Session-Id")
 public class McpController {
 
-    private final AtomicLong eventIdCounter = new AtomicLong(0);
+    private static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private static final Map<String, Object> NO_NOTIFICATIONS = Map.of("notifications", List.of());
+
+    @Autowired
+    private ToolRegistry toolRegistry;
+
+    @Autowired
+    private ToolExecutor toolExecutor;
+
+    @Autowired
+    private McpServerProperties properties;
+
+    @Autowired
+    private SseSessionRegistry sessionRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JsonRpcDecoder decoder;
+
+    @Autowired
+    private CborCodec cborCodec;
+
+    @Autowired
+    private McpMetrics metrics;
 
     @Autowired
-    private CalculatorService calculatorService;
+    private ToolResultCache resultCache;
 
     @Autowired
-    private GameService gameService;
+    private ToolCallCoalescer coalescer;
+
+    @Autowired
+    private AdmissionControl admission;
+
+    @Autowired
+    private PendingRequests pendingRequests;
+
+    @Autowired
+    private RequestJournal journal;
+
+    private PreEncodedResponse initializeResponse;
+    private PreEncodedResponse toolsListResponse;
+    private byte[] overloadedResponse;
+    private byte[] rateLimitedResponse;
+
+    /**
+     * The initialize and tools/list results are static for the life of the process,
+     * so they are serialized once here and only the request id is spliced in per call.
+     * Tool descriptors come from the {@link ToolRegistry}, which has scanned the
+     * {@code @Tool} beans by the time this runs.
+     */
+    @PostConstruct
+    void preEncodeStaticResponses() {
+        initializeResponse = PreEncodedResponse.of(objectMapper, buildInitializeResult());
+        toolsListResponse = PreEncodedResponse.of(objectMapper, Map.of("tools", toolRegistry.getToolDescriptors()));
+        overloadedResponse = toBytes(JsonRpcResponse.error(null, JsonRpcError.SERVER_BUSY,
+            "Server overloaded, retry later"));
+        rateLimitedResponse = toBytes(JsonRpcResponse.error(null, JsonRpcError.RATE_LIMITED,
+            "Rate limit exceeded, retry later"));
+    }
 
     /**
      * Main entry for MCP protocol POST requests.
+     * Accepts a single JSON-RPC request object or a JSON-RPC 2.0 batch array, encoded as
+     * JSON or as CBOR ({@code Content-Type: application/cbor}); the response format follows
+     * the Accept header, defaulting to the request's format. The optional Mcp-Session-Id
+     * header names the SSE session that receives progress notifications, and scopes the
+     * request ids that notifications/cancelled refers to.
+     */
+    @PostMapping(value = "/api/v1/mpc", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<Object>> handleMcpRequest(
+            @RequestBody byte[] body,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+            ServerHttpRequest httpRequest) {
+        long startNanos = System.nanoTime();
+        // Shed load before spending any time decoding the body
+        String clientKey = admission.clientKey(httpRequest);
+        AdmissionControl.Permit permit = admission.tryAcquire(clientKey, body);
+        if (!permit.isAdmitted()) {
+            return Mono.just(rejected(permit, body.length, startNanos));
+        }
+        metrics.requestStarted(body.length);
+        HttpHeaders headers = httpRequest != null ? httpRequest.getHeaders() : HttpHeaders.EMPTY;
+        WireFormat requestFormat = WireFormat.ofContentType(headers.getContentType());
+        Exchange exchange = new Exchange(sessionId, sessionId != null ? sessionId : clientKey,
+            requestFormat, WireFormat.negotiate(headers.getAccept(), requestFormat), startNanos, body.length);
+        return handle(body, ifNoneMatch, exchange)
+            .doOnNext(exchange::responded)
+            .doFinally(signal -> {
+                metrics.requestFinished();
+                permit.release();
+                exchange.journal(journal);
+            });
+    }
+
+    /**
+     * Rejected requests get a fixed JSON-RPC error with a null id, since the body was never decoded.
+     * It is always JSON: rejection has to stay cheaper than negotiating a format.
      */
-    @PostMapping(value = "/api/v1/mpc", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<?> handleMcpRequest(@RequestBody Map<String, Object> request) {
-        String method = (String) request.get("method");
-        Object id = request.get("id");
-        @SuppressWarnings("unchecked")
-        Map<String, Object> params = (Map<String, Object>) request.get("params");
+    private ResponseEntity<Object> rejected(AdmissionControl.Permit permit, int requestBytes, long startNanos) {
+        boolean rateLimited = permit.getOutcome() == AdmissionControl.Outcome.RATE_LIMITED;
+        int code = rateLimited ? JsonRpcError.RATE_LIMITED : JsonRpcError.SERVER_BUSY;
+        HttpStatus status = rateLimited ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.SERVICE_UNAVAILABLE;
+        byte[] body = rateLimited ? rateLimitedResponse : overloadedResponse;
+        metrics.recordError(code);
+        journal.record(null, null, null, 0, status.value(), code, System.nanoTime() - startNanos,
+            requestBytes, body.length);
+        return ResponseEntity.status(status)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(permit.getRetryAfterSeconds()))
+            .body(body);
+    }
+
+    private Mono<ResponseEntity<Object>> handle(byte[] body, String ifNoneMatch, Exchange exchange) {
+        JsonRpcPayload payload = exchange.requestFormat == WireFormat.CBOR
+            ? decoder.decode(cborCodec.getFactory(), body)
+            : decoder.decode(body);
+        if (payload.batch()) {
+            exchange.batchSize = payload.requests().size();
+            return handleBatch(payload.requests(), exchange);
+        }
+        JsonRpcRequest request = payload.single();
+        exchange.decoded(request);
+        PreEncodedResponse cacheable = staticResponseFor(request);
+        if (cacheable != null) {
+            McpMetrics.MethodMeters meters = metrics.forMethod(request.method());
+            long start = meters.start();
+            WireFormat format = exchange.responseFormat;
+            ResponseEntity<Object> response = cacheable.matches(ifNoneMatch, format)
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cacheable.getEtag(format)).build()
+                : ResponseEntity.ok()
+                    .contentType(format.getMediaType())
+                    .eTag(cacheable.getEtag(format))
+                    .body(sized(cacheable.encode(request.id(), format)));
+            meters.stop(start);
+            return Mono.just(response);
+        }
+        return dispatch(request, exchange)
+            .<ResponseEntity<Object>>map(response -> {
+                exchange.code = errorCode(response);
+                return ok(encode(response, exchange.responseFormat), exchange.responseFormat);
+            })
+            // Notifications that produce no response body, such as notifications/cancelled
+            .defaultIfEmpty(ResponseEntity.accepted().build());
+    }
+
+    private PreEncodedResponse staticResponseFor(JsonRpcRequest request) {
+        if (request.error() != null || request.method() == null) {
+            return null;
+        }
+        switch (request.method()) {
+            case "initialize":
+                return initializeResponse;
+            case "tools/list":
+                return toolsListResponse;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Executes batch entries concurrently and answers with one array in request order.
+     * Notifications (entries without an id) are executed but get no response entry.
+     */
+    private Mono<ResponseEntity<Object>> handleBatch(List<JsonRpcRequest> batch, Exchange exchange) {
+        if (batch.isEmpty()) {
+            return respondWithError(JsonRpcError.INVALID_REQUEST, "Invalid Request: empty batch", exchange);
+        }
+        int maxSize = properties.getBatch().getMaxSize();
+        if (batch.size() > maxSize) {
+            return respondWithError(JsonRpcError.INVALID_REQUEST,
+                "Invalid Request: batch size " + batch.size() + " exceeds limit of " + maxSize, exchange);
+        }
+
+        return Flux.fromIterable(batch)
+            .flatMapSequential(request -> request.notification()
+                ? dispatch(request, exchange).then(Mono.empty())
+                : dispatch(request, exchange), properties.getBatch().getParallelism())
+            .collectList()
+            .map(responses -> toBatchResponse(responses, exchange.responseFormat));
+    }
 
+    private ResponseEntity<Object> toBatchResponse(List<Object> responses, WireFormat format) {
+        if (responses.isEmpty()) {
+            // A batch of notifications only gets no JSON-RPC response body
+            return ResponseEntity.accepted().build();
+        }
+        return ok(encode(responses, format), format);
+    }
+
+    private Mono<ResponseEntity<Object>> respondWithError(int code, String message, Exchange exchange) {
+        metrics.recordError(code);
+        exchange.code = code;
+        WireFormat format = exchange.responseFormat;
+        return Mono.just(ok(encode(JsonRpcResponse.error(null, code, message), format), format));
+    }
+
+    private static ResponseEntity<Object> ok(byte[] body, WireFormat format) {
+        return ResponseEntity.ok().contentType(format.getMediaType()).body(body);
+    }
+
+    /**
+     * Serializes the response body here rather than in the codec so its size can be recorded.
+     */
+    private byte[] encode(Object response, WireFormat format) {
+        if (format == WireFormat.CBOR) {
+            return sized(cborCodec.encode(response));
+        }
+        return sized(response instanceof RawJson raw ? raw.getBytes() : toBytes(response));
+    }
+
+    private byte[] toBytes(Object response) {
         try {
-            switch (method) {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode JSON-RPC response", e);
+        }
+    }
+
+    private byte[] sized(byte[] body) {
+        metrics.recordResponseSize(body.length);
+        return body;
+    }
+
+    /**
+     * Routes a single decoded JSON-RPC request to its handler, timing it and counting
+     * error responses per code.
+     */
+    private Mono<Object> dispatch(JsonRpcRequest request, Exchange exchange) {
+        McpMetrics.MethodMeters meters = metrics.forMethod(request.method());
+        return Mono.defer(() -> {
+            long start = meters.start();
+            return route(request, exchange)
+                .doOnNext(this::countError)
+                .doFinally(signal -> meters.stop(start));
+        });
+    }
+
+    private void countError(Object response) {
+        int code = errorCode(response);
+        if (code != 0) {
+            metrics.recordError(code);
+        }
+    }
+
+    private static int errorCode(Object response) {
+        return response instanceof JsonRpcResponse rpc && rpc.error() != null ? rpc.error().code() : 0;
+    }
+
+    private Mono<Object> route(JsonRpcRequest request, Exchange exchange) {
+        Object id = request.id();
+        if (request.error() != null) {
+            return Mono.just(JsonRpcResponse.error(id, request.error()));
+        }
+
+        try {
+            switch (request.method()) {
                 case "initialize":
-                    return ResponseEntity.ok(buildInitializeResponse(id));
+                    return Mono.just(initializeResponse.render(id));
                 case "tools/list":
-                    return ResponseEntity.ok(buildToolsListResponse(id));
+                    return Mono.just(toolsListResponse.render(id));
                 case "tools/call":
-                    return ResponseEntity.ok(buildToolsCallResponse(id, params));
+                    return callTool(id, request.toolCall(), exchange);
+                case "notifications/cancelled":
+                    // Unknown or already completed ids are ignored, as the protocol allows
+                    pendingRequests.cancel(exchange.scope, request.cancelledId());
+                    return Mono.empty();
                 case "notifications/list":
-                    return ResponseEntity.ok(buildNotificationsListResponse(id));
+                    return Mono.just(JsonRpcResponse.success(id, NO_NOTIFICATIONS));
                 case "ping":
-                    return ResponseEntity.ok(buildPingResponse(id));
+                    return Mono.just(JsonRpcResponse.success(id, Map.of("pong", System.currentTimeMillis())));
                 default:
-                    return ResponseEntity.ok(buildErrorResponse(id, -32601, "Method not found: " + method));
+                    return Mono.just(JsonRpcResponse.error(id, JsonRpcError.METHOD_NOT_FOUND,
+                        "Method not found: " + request.method()));
             }
         } catch (Exception e) {
-            return ResponseEntity.ok(buildErrorResponse(id, -32603, "Internal error: " + e.getMessage()));
+            return Mono.just(JsonRpcResponse.error(id, JsonRpcError.INTERNAL_ERROR, "Internal error: " + e.getMessage()));
         }
     }
 
-    private Map<String, Object> buildInitializeResponse(Object id) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-
+    private Map<String, Object> buildInitializeResult() {
         Map<String, Object> result = new HashMap<>();
         result.put("protocolVersion", "2024-11-05");
         result.put("capabilities", Map.of(
@@ -72,255 +348,209 @@ public class McpController {
             "name", "Spring AI MCP Server",
             "version", "1.0.0"
         ));
-
-        response.put("result", result);
-        return response;
+        return result;
     }
 
-    private Map<String, Object> buildToolsListResponse(Object id) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("tools", listAvailableTools());
-
-        response.put("result", result);
-        return response;
+    /**
+     * Runs the tool off the event loop; failures, timeouts and rejections become JSON-RPC errors.
+     * Results of deterministic tools go through the result cache and the single-flight coalescer.
+     * Calls with an id can be cancelled with notifications/cancelled; a client disconnect
+     * cancels them through the subscription.
+     */
+    private Mono<Object> callTool(Object id, ToolCall call, Exchange exchange) {
+        if (call == null) {
+            return Mono.just(JsonRpcResponse.error(id, JsonRpcError.INVALID_PARAMS,
+                "Invalid params: tools/call requires an object with a tool name"));
+        }
+        if (call.tool() != null && call.argumentError() != null) {
+            return Mono.just(JsonRpcResponse.error(id, JsonRpcError.INVALID_PARAMS,
+                "Invalid params: " + call.argumentError().getMessage()));
+        }
+        ToolContext.ProgressListener progress = progressListener(exchange.sessionId, call.progressToken());
+        Mono<Object> response;
+        if (!call.isDeterministic()) {
+            response = toolExecutor.execute(call, progress)
+                .map(text -> (Object) JsonRpcResponse.success(id, ToolCallResult.text(text)));
+        } else {
+            // Deterministic tool: a cache hit skips execution and result encoding entirely,
+            // and identical calls already in flight share one execution
+            PreEncodedResponse cached = resultCache.get(call);
+            if (cached != null) {
+                return Mono.just(cached.render(id));
+            }
+            response = coalescer.execute(call,
+                    () -> toolExecutor.execute(call, progress).map(text -> resultCache.put(call, text)))
+                .map(encoded -> (Object) encoded.render(id));
+        }
+        return pendingRequests.track(exchange.scope, id,
+                response.onErrorResume(e -> Mono.just(buildToolErrorResponse(id, e))))
+            .switchIfEmpty(Mono.fromSupplier(() -> JsonRpcResponse.error(id, JsonRpcError.REQUEST_CANCELLED,
+                "Request cancelled")));
     }
 
-    private Map<String, Object> buildToolsCallResponse(Object id, Map<String, Object> params) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-
-        try {
-            String name = (String) params.get("name");
-            @SuppressWarnings("unchecked")
-            Map<String, Object> arguments = (Map<String, Object>) params.get("arguments");
-
-            Object result = runTool(name, arguments);
-
-            Map<String, Object> resultMap = new HashMap<>();
-            // MCP content format: type and text
-            Map<String, Object> contentItem = new HashMap<>();
-            contentItem.put("type", "text");
-            contentItem.put("text", String.valueOf(result));
-            resultMap.put("content", new Object[]{contentItem});
-            response.put("result", resultMap);
-
-        } catch (Exception e) {
-            response.put("error", Map.of(
-                "code", -32603,
-                "message", "Tool execution error: " + e.getMessage()
-            ));
+    /**
+     * Returns a listener that sends notifications/progress to the caller's SSE session,
+     * or null if the call asked for no progress or has no session to send it to.
+     * Chunks of a streamed result go to the same session as notifications/tools/chunk.
+     * Only the call that starts a coalesced execution receives its progress.
+     */
+    private ToolContext.ProgressListener progressListener(String sessionId, Object progressToken) {
+        if (progressToken == null || sessionRegistry.find(sessionId) == null) {
+            return null;
         }
+        return new ToolContext.ProgressListener() {
+            @Override
+            public void onProgress(long progress, long total) {
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("progressToken", progressToken);
+                params.put("progress", progress);
+                if (total > 0) {
+                    params.put("total", total);
+                }
+                sendNotification(sessionId, "notifications/progress", params);
+            }
 
-        return response;
+            @Override
+            public boolean onChunk(long offset, int count, String values, BooleanSupplier cancelled) {
+                Map<String, Object> params = new LinkedHashMap<>();
+                params.put("progressToken", progressToken);
+                params.put("offset", offset);
+                params.put("count", count);
+                params.put("values", new RawJson(values.getBytes(StandardCharsets.UTF_8)));
+                // Unlike progress, a lost chunk corrupts the result, so wait for the reader
+                return sessionRegistry.sendWhenReady(sessionId, "message",
+                    notification("notifications/tools/chunk", params), cancelled);
+            }
+        };
     }
 
-    private Map<String, Object> buildNotificationsListResponse(Object id) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("notifications", new Object[0]); // No notifications available
-
-        response.put("result", result);
-        return response;
+    private void sendNotification(String sessionId, String method, Map<String, Object> params) {
+        // Best effort: a progress update missed by a slow or detached client is superseded by the next
+        sessionRegistry.send(sessionId, "message", notification(method, params));
     }
 
-    private Map<String, Object> buildPingResponse(Object id) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("pong", System.currentTimeMillis());
-
-        response.put("result", result);
-        return response;
+    private String notification(String method, Map<String, Object> params) {
+        Map<String, Object> notification = new LinkedHashMap<>();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", method);
+        notification.put("params", params);
+        return new String(toBytes(notification), StandardCharsets.UTF_8);
     }
 
-    private Map<String, Object> buildErrorResponse(Object id, int code, String message) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("jsonrpc", "2.0");
-        response.put("id", id);
-        response.put("error", Map.of(
-            "code", code,
-            "message", message
-        ));
-        return response;
+    private JsonRpcResponse buildToolErrorResponse(Object id, Throwable error) {
+        if (error instanceof ToolCancelledException) {
+            return JsonRpcResponse.error(id, JsonRpcError.REQUEST_CANCELLED, error.getMessage());
+        }
+        if (error instanceof ToolTimeoutException) {
+            return JsonRpcResponse.error(id, JsonRpcError.TOOL_TIMEOUT, error.getMessage());
+        }
+        if (error instanceof RejectedExecutionException) {
+            return JsonRpcResponse.error(id, JsonRpcError.SERVER_BUSY, "Server busy: tool queue is full");
+        }
+        return JsonRpcResponse.error(id, JsonRpcError.INTERNAL_ERROR, "Tool execution error: " + error.getMessage());
     }
 
     /**
-     * Returns the list of available tools with descriptions and input schemas.
+     * Opens or resumes a streamable-HTTP SSE session for server-to-client messages.
+     * The session id is returned in the Mcp-Session-Id header; clients resume with that
+     * id (header or sessionId query parameter) plus Last-Event-ID after a disconnect.
+     * An id that is unknown or has expired gets 404, telling the client to initialize again.
      */
-    private Object[] listAvailableTools() {
-        return new Object[]{
-            Map.of(
-                "name", "calculate",
-                "description", "Evaluate a mathematical expression (supports +, -, *, /, parentheses).",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "expression", Map.of(
-                            "type", "string",
-                            "description", "Math expression, e.g. 2 + 3 * 4"
-                        )
-                    ),
-                    "required", new String[]{"expression"}
-                )
-            ),
-            Map.of(
-                "name", "add",
-                "description", "Return the sum of two numbers.",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "a", Map.of(
-                            "type", "number",
-                            "description", "First number"
-                        ),
-                        "b", Map.of(
-                            "type", "number",
-                            "description", "Second number"
-                        )
-                    ),
-                    "required", new String[]{"a", "b"}
-                )
-            ),
-            Map.of(
-                "name", "subtract",
-                "description", "Return the difference between two numbers.",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "a", Map.of(
-                            "type", "number",
-                            "description", "First number"
-                        ),
-                        "b", Map.of(
-                            "type", "number",
-                            "description", "Second number"
-                        )
-                    ),
-                    "required", new String[]{"a", "b"}
-                )
-            ),
-            Map.of(
-                "name", "multiply",
-                "description", "Return the product of two numbers.",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "a", Map.of(
-                            "type", "number",
-                            "description", "First number"
-                        ),
-                        "b", Map.of(
-                            "type", "number",
-                            "description", "Second number"
-                        )
-                    ),
-                    "required", new String[]{"a", "b"}
-                )
-            ),
-            Map.of(
-                "name", "divide",
-                "description", "Return the quotient of two numbers.",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "a", Map.of(
-                            "type", "number",
-                            "description", "First number"
-                        ),
-                        "b", Map.of(
-                            "type", "number",
-                            "description", "Second number"
-                        )
-                    ),
-                    "required", new String[]{"a", "b"}
-                )
-            ),
-            Map.of(
-                "name", "rockPaperScissors",
-                "description", "Play Rock, Paper, Scissors - randomly returns one of the three options",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(),
-                    "required", new String[]{}
-                )
-            ),
-            Map.of(
-                "name", "playRockPaperScissors",
-                "description", "Play Rock, Paper, Scissors against a computer - you choose your move",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(
-                        "playerChoice", Map.of(
-                            "type", "string",
-                            "description", "Your choice: rock, paper, or scissors"
-                        )
-                    ),
-                    "required", new String[]{"playerChoice"}
-                )
-            ),
-            Map.of(
-                "name", "getRandomChoice",
-                "description", "Get a random choice from Rock, Paper, Scissors",
-                "inputSchema", Map.of(
-                    "type", "object",
-                    "properties", Map.of(),
-                    "required", new String[]{}
-                )
-            )
-        };
+    @GetMapping(value = "/api/v1/mpc", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<String>>> handleMcpGetRequest(
+            @RequestHeader(value = SESSION_HEADER, required = false) String sessionHeader,
+            @RequestParam(value = "sessionId", required = false) String sessionParam,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader) {
+        String sessionId = sessionHeader != null ? sessionHeader : sessionParam;
+        SseSession session = sessionRegistry.find(sessionId);
+        long lastEventId;
+        if (session != null) {
+            // Resumed session: replay only what the client has not acknowledged
+            lastEventId = parseLastEventId(lastEventIdHeader);
+        } else if (sessionId != null) {
+            return ResponseEntity.notFound().build();
+        } else {
+            session = sessionRegistry.create();
+            if (session == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+            }
+            sessionRegistry.send(session.getId(), "message", initializeResponse.render(1).toString());
+            lastEventId = 0;
+        }
+        return ResponseEntity.ok()
+            .header(SESSION_HEADER, session.getId())
+            .body(sessionRegistry.connect(session, lastEventId));
     }
 
     /**
-     * Executes the requested tool by name with provided arguments.
+     * Terminates a streamable-HTTP SSE session.
      */
-    private Object runTool(String name, Map<String, Object> arguments) {
-        switch (name) {
-            case "calculate":
-                String expression = (String) arguments.get("expression");
-                return calculatorService.calculate(expression);
-            case "add":
-                double a = ((Number) arguments.get("a")).doubleValue();
-                double b = ((Number) arguments.get("b")).doubleValue();
-                return calculatorService.add(a, b);
-            case "subtract":
-                double a2 = ((Number) arguments.get("a")).doubleValue();
-                double b2 = ((Number) arguments.get("b")).doubleValue();
-                return calculatorService.subtract(a2, b2);
-            case "multiply":
-                double a3 = ((Number) arguments.get("a")).doubleValue();
-                double b3 = ((Number) arguments.get("b")).doubleValue();
-                return calculatorService.multiply(a3, b3);
-            case "divide":
-                double a4 = ((Number) arguments.get("a")).doubleValue();
-                double b4 = ((Number) arguments.get("b")).doubleValue();
-                return calculatorService.divide(a4, b4);
-            case "rockPaperScissors":
-                return gameService.rockPaperScissors();
-            case "playRockPaperScissors":
-                String playerChoice = (String) arguments.get("playerChoice");
-                return gameService.playRockPaperScissors(playerChoice);
-            case "getRandomChoice":
-                return gameService.getRandomChoice();
-            default:
-                throw new IllegalArgumentException("Unknown tool: " + name);
+    @DeleteMapping("/api/v1/mpc")
+    public ResponseEntity<Void> handleMcpDeleteRequest(@RequestHeader(SESSION_HEADER) String sessionId) {
+        return sessionRegistry.close(sessionId)
+            ? ResponseEntity.noContent().build()
+            : ResponseEntity.notFound().build();
+    }
+
+    private static long parseLastEventId(String header) {
+        if (header == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
         }
     }
 
     /**
-     * Handle MCP protocol requests via GET for SSE/Streamable HTTP transport
+     * One POST /api/v1/mpc request: who sent it, plus what the request journal records about it.
+     * The scope is what its request ids are unique in: the SSE session named in its header,
+     * or the admission client key without one.
      */
-    @GetMapping(value = "/api/v1/mpc", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public Flux<String> handleMcpGetRequest() {
-        return Flux.just("data: {\"jsonrpc\": \"2.0\", \"id\": 1, \"result\": {\"protocolVersion\": \"2024-11-05\", \"capabilities\": {\"tools\": {\"listChanged\": false}, \"notifications\": {\"listChanged\": false}}, \"serverInfo\": {\"name\": \"Spring AI MCP Server\", \"version\": \"1.0.0\"}}}\n\n");
+    private static final class Exchange {
+
+        final String sessionId;
+        final String scope;
+        final WireFormat requestFormat;
+        final WireFormat responseFormat;
+        final long startNanos;
+        final int requestBytes;
+        String method;
+        String tool;
+        Object id;
+        int batchSize;
+        int status;
+        int code;
+        int responseBytes;
+
+        Exchange(String sessionId, String scope, WireFormat requestFormat, WireFormat responseFormat,
+                 long startNanos, int requestBytes) {
+            this.sessionId = sessionId;
+            this.scope = scope;
+            this.requestFormat = requestFormat;
+            this.responseFormat = responseFormat;
+            this.startNanos = startNanos;
+            this.requestBytes = requestBytes;
+        }
+
+        void decoded(JsonRpcRequest request) {
+            method = request.method();
+            id = request.id();
+            code = request.error() != null ? request.error().code() : 0;
+            if (request.toolCall() != null) {
+                tool = request.toolCall().name();
+            }
+        }
+
+        void responded(ResponseEntity<Object> response) {
+            status = response.getStatusCode().value();
+            responseBytes = response.getBody() instanceof byte[] bytes ? bytes.length : 0;
+        }
+
+        void journal(RequestJournal journal) {
+            journal.record(method, tool, id, batchSize, status, code, System.nanoTime() - startNanos,
+                requestBytes, responseBytes);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,207 @@
+package com.example.mcpserver.expression;
+
+import java.util.Arrays;
+
+/**
+ * CompiledExpression - An arithmetic expression compiled to a flat postfix program.
+ *
+ * Instances are immutable and safe to share between threads. Evaluation runs over
+ * a per-thread scratch stack, so it does not allocate once the stack has grown to
+ * the required depth.
+ *
+ * Programs with variables can also be evaluated over many points at once, with one
+ * array of values per variable. That path interprets each instruction once per block
+ * of points and applies it in a plain loop over the block, so dispatch cost is spread
+ * over the block and the loops are simple enough for the JIT to vectorize.
+ *
+ * @author mcp-server
+ */
+public final class CompiledExpression {
+
+    static final int OP_CONST = 0;
+    static final int OP_ADD = 1;
+    static final int OP_SUB = 2;
+    static final int OP_MUL = 3;
+    static final int OP_DIV = 4;
+    static final int OP_NEG = 5;
+    static final int OP_VAR = 6;
+
+    static final int OPCODE_BITS = 8;
+    static final int OPCODE_MASK = (1 << OPCODE_BITS) - 1;
+
+    /** Points evaluated per instruction in bulk evaluation; each stack slot holds one block. */
+    static final int BLOCK = 256;
+
+    private static final double[] NO_VARIABLES = new double[0];
+    private static final ThreadLocal<double[]> SCRATCH = ThreadLocal.withInitial(() -> new double[16]);
+    private static final ThreadLocal<double[]> BLOCK_SCRATCH = ThreadLocal.withInitial(() -> new double[16 * BLOCK]);
+
+    private final String source;
+    private final int[] code;
+    private final double[] constants;
+    private final int variableCount;
+    private final int maxStack;
+
+    CompiledExpression(String source, int[] code, double[] constants, int variableCount, int maxStack) {
+        this.source = source;
+        this.code = code;
+        this.constants = constants;
+        this.variableCount = variableCount;
+        this.maxStack = maxStack;
+    }
+
+    /**
+     * Evaluates the compiled program.
+     */
+    public double evaluate() {
+        return evaluate(NO_VARIABLES);
+    }
+
+    /**
+     * Evaluates the compiled program at one point.
+     *
+     * @param variables one value per declared variable, in declaration order
+     */
+    public double evaluate(double... variables) {
+        checkVariableCount(variables.length);
+        double[] stack = SCRATCH.get();
+        if (stack.length < maxStack) {
+            stack = new double[maxStack];
+            SCRATCH.set(stack);
+        }
+
+        int sp = 0;
+        for (int instruction : code) {
+            switch (instruction & OPCODE_MASK) {
+                case OP_CONST:
+                    stack[sp++] = constants[instruction >>> OPCODE_BITS];
+                    break;
+                case OP_VAR:
+                    stack[sp++] = variables[instruction >>> OPCODE_BITS];
+                    break;
+                case OP_ADD:
+                    sp--;
+                    stack[sp - 1] += stack[sp];
+                    break;
+                case OP_SUB:
+                    sp--;
+                    stack[sp - 1] -= stack[sp];
+                    break;
+                case OP_MUL:
+                    sp--;
+                    stack[sp - 1] *= stack[sp];
+                    break;
+                case OP_DIV:
+                    sp--;
+                    if (stack[sp] == 0) {
+                        throw new IllegalArgumentException("Cannot divide by zero");
+                    }
+                    stack[sp - 1] /= stack[sp];
+                    break;
+                case OP_NEG:
+                    stack[sp - 1] = -stack[sp - 1];
+                    break;
+                default:
+                    throw new IllegalStateException("Corrupt expression program: " + source);
+            }
+        }
+        return stack[0];
+    }
+
+    /**
+     * Evaluates the program at points {@code from} (inclusive) to {@code to} (exclusive),
+     * writing the result for point {@code i} to {@code out[outOffset + i - from]}.
+     *
+     * @param columns one array of values per declared variable, in declaration order
+     * @throws IllegalArgumentException if any point divides by zero
+     */
+    public void evaluate(double[][] columns, int from, int to, double[] out, int outOffset) {
+        checkVariableCount(columns.length);
+        double[] stack = BLOCK_SCRATCH.get();
+        if (stack.length < maxStack * BLOCK) {
+            stack = new double[maxStack * BLOCK];
+            BLOCK_SCRATCH.set(stack);
+        }
+
+        for (int base = from; base < to; base += BLOCK) {
+            int n = Math.min(BLOCK, to - base);
+            // Stack slot k occupies stack[k * BLOCK, k * BLOCK + n)
+            int top = 0;
+            for (int instruction : code) {
+                int right = top - BLOCK;
+                int left = right - BLOCK;
+                switch (instruction & OPCODE_MASK) {
+                    case OP_CONST:
+                        Arrays.fill(stack, top, top + n, constants[instruction >>> OPCODE_BITS]);
+                        top += BLOCK;
+                        break;
+                    case OP_VAR:
+                        System.arraycopy(columns[instruction >>> OPCODE_BITS], base, stack, top, n);
+                        top += BLOCK;
+                        break;
+                    case OP_ADD:
+                        for (int i = 0; i < n; i++) {
+                            stack[left + i] += stack[right + i];
+                        }
+                        top = right;
+                        break;
+                    case OP_SUB:
+                        for (int i = 0; i < n; i++) {
+                            stack[left + i] -= stack[right + i];
+                        }
+                        top = right;
+                        break;
+                    case OP_MUL:
+                        for (int i = 0; i < n; i++) {
+                            stack[left + i] *= stack[right + i];
+                        }
+                        top = right;
+                        break;
+                    case OP_DIV:
+                        for (int i = 0; i < n; i++) {
+                            if (stack[right + i] == 0) {
+                                throw new IllegalArgumentException("Cannot divide by zero");
+                            }
+                            stack[left + i] /= stack[right + i];
+                        }
+                        top = right;
+                        break;
+                    case OP_NEG:
+                        for (int i = 0; i < n; i++) {
+                            stack[right + i] = -stack[right + i];
+                        }
+                        break;
+                    default:
+                        throw new IllegalStateException("Corrupt expression program: " + source);
+                }
+            }
+            System.arraycopy(stack, 0, out, outOffset + base - from, n);
+        }
+    }
+
+    /**
+     * Returns the number of variables the program reads.
+     */
+    public int getVariableCount() {
+        return variableCount;
+    }
+
+    /**
+     * Returns the expression text this program was compiled from.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    private void checkVariableCount(int count) {
+        if (count != variableCount) {
+            throw new IllegalArgumentException(
+                "Expression takes " + variableCount + " variables, got " + count);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledExpression[" + source + "]";
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.mcpserver.expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ExpressionCache - Bounded LRU cache of compiled expressions keyed by source text.
+ *
+ * Repeated expressions skip tokenizing and parsing entirely. Compilation happens
+ * outside the lock, so two threads racing on the same new expression may both
+ * compile it; the result is identical either way.
+ *
+ * @author mcp-server
+ */
+public final class ExpressionCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, CompiledExpression> entries;
+
+    public ExpressionCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompiledExpression> eldest) {
+                return size() > ExpressionCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached program for the expression, compiling and caching it on a miss.
+     */
+    public CompiledExpression getOrCompile(String expression) {
+        if (maxSize == 0) {
+            return ExpressionCompiler.compile(expression);
+        }
+        CompiledExpression compiled;
+        synchronized (entries) {
+            compiled = entries.get(expression);
+        }
+        if (compiled == null) {
+            compiled = ExpressionCompiler.compile(expression);
+            synchronized (entries) {
+                entries.put(expression, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+}
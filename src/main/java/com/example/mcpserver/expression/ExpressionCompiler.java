@@ -0,0 +1,301 @@
+package com.example.mcpserver.expression;
+
+import java.util.Arrays;
+
+/**
+ * ExpressionCompiler - Tokenizes and parses arithmetic expressions in a single pass.
+ *
+ * Uses precedence climbing over +, -, *, / with unary plus/minus and parentheses,
+ * emitting postfix code directly while parsing. Operators are left-associative and
+ * multiplication/division bind tighter than addition/subtraction. Identifiers refer to
+ * variables declared at compile time and are compiled to slot indexes, so evaluation
+ * never looks up a name.
+ *
+ * The parser recurses once per parenthesis and unary sign, so nesting is capped at
+ * {@link #MAX_NESTING} levels; deeper input is rejected instead of overflowing the stack.
+ *
+ * @author mcp-server
+ */
+public final class ExpressionCompiler {
+
+    private static final int PREC_ADDITIVE = 1;
+    private static final int PREC_MULTIPLICATIVE = 2;
+
+    /**
+     * Deepest nesting of parentheses and unary signs accepted.
+     */
+    public static final int MAX_NESTING = 256;
+
+    private final String source;
+    private final String[] variables;
+    private int pos;
+
+    private int[] code = new int[16];
+    private int codeLength;
+    private double[] constants = new double[8];
+    private int constantCount;
+    private int depth;
+    private int maxDepth;
+    private int nesting;
+
+    private ExpressionCompiler(String source, String[] variables) {
+        this.source = source;
+        this.variables = variables;
+    }
+
+    /**
+     * Compiles the given expression into a reusable program.
+     *
+     * @throws IllegalArgumentException if the expression is empty or malformed
+     */
+    public static CompiledExpression compile(String expression) {
+        return compile(expression, new String[0]);
+    }
+
+    /**
+     * Compiles an expression over named variables. Variable {@code i} is read from slot
+     * {@code i} of the values passed to evaluation.
+     *
+     * @throws IllegalArgumentException if the expression is empty or malformed, uses an
+     *                                  undeclared variable, or a variable name is invalid or repeated
+     */
+    public static CompiledExpression compile(String expression, String... variables) {
+        if (expression == null) {
+            throw new IllegalArgumentException("Expression must not be null");
+        }
+        checkVariables(variables);
+        ExpressionCompiler compiler = new ExpressionCompiler(expression, variables);
+        compiler.skipWhitespace();
+        if (compiler.pos == expression.length()) {
+            throw new IllegalArgumentException("Empty expression");
+        }
+        compiler.parseExpression(PREC_ADDITIVE);
+        compiler.skipWhitespace();
+        if (compiler.pos < expression.length()) {
+            char c = expression.charAt(compiler.pos);
+            throw c == ')'
+                ? new IllegalArgumentException("Mismatched parentheses")
+                : compiler.unexpected();
+        }
+        return new CompiledExpression(
+            expression,
+            Arrays.copyOf(compiler.code, compiler.codeLength),
+            Arrays.copyOf(compiler.constants, compiler.constantCount),
+            variables.length,
+            compiler.maxDepth
+        );
+    }
+
+    private void parseExpression(int minPrecedence) {
+        parseUnary();
+        while (true) {
+            skipWhitespace();
+            if (pos >= source.length()) {
+                return;
+            }
+            int opcode = binaryOpcode(source.charAt(pos));
+            if (opcode < 0) {
+                return;
+            }
+            int precedence = precedenceOf(opcode);
+            if (precedence < minPrecedence) {
+                return;
+            }
+            pos++;
+            parseExpression(precedence + 1);
+            emit(opcode, 0);
+            depth--;
+        }
+    }
+
+    private void parseUnary() {
+        skipWhitespace();
+        if (pos < source.length()) {
+            char c = source.charAt(pos);
+            if (c == '-') {
+                pos++;
+                enter();
+                parseUnary();
+                nesting--;
+                emit(CompiledExpression.OP_NEG, 0);
+                return;
+            }
+            if (c == '+') {
+                pos++;
+                enter();
+                parseUnary();
+                nesting--;
+                return;
+            }
+        }
+        parsePrimary();
+    }
+
+    private void parsePrimary() {
+        if (pos >= source.length()) {
+            throw new IllegalArgumentException("Unexpected end of expression");
+        }
+        char c = source.charAt(pos);
+        if (c == '(') {
+            pos++;
+            enter();
+            parseExpression(PREC_ADDITIVE);
+            skipWhitespace();
+            if (pos >= source.length() || source.charAt(pos) != ')') {
+                throw new IllegalArgumentException("Mismatched parentheses");
+            }
+            nesting--;
+            pos++;
+            return;
+        }
+        if (isDigit(c) || c == '.') {
+            pushConstant(parseNumber());
+            return;
+        }
+        if (isIdentifierStart(c)) {
+            pushVariable(parseIdentifier());
+            return;
+        }
+        throw unexpected();
+    }
+
+    private void enter() {
+        if (++nesting > MAX_NESTING) {
+            throw new IllegalArgumentException(
+                "Expression is nested too deeply (more than " + MAX_NESTING + " levels) at position " + pos);
+        }
+    }
+
+    private String parseIdentifier() {
+        int start = pos++;
+        while (pos < source.length() && isIdentifierPart(source.charAt(pos))) {
+            pos++;
+        }
+        return source.substring(start, pos);
+    }
+
+    private double parseNumber() {
+        int start = pos;
+        while (pos < source.length() && isDigit(source.charAt(pos))) {
+            pos++;
+        }
+        if (pos < source.length() && source.charAt(pos) == '.') {
+            pos++;
+            while (pos < source.length() && isDigit(source.charAt(pos))) {
+                pos++;
+            }
+        }
+        if (pos < source.length() && (source.charAt(pos) == 'e' || source.charAt(pos) == 'E')) {
+            int mark = pos++;
+            if (pos < source.length() && (source.charAt(pos) == '+' || source.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (pos < source.length() && isDigit(source.charAt(pos))) {
+                while (pos < source.length() && isDigit(source.charAt(pos))) {
+                    pos++;
+                }
+            } else {
+                pos = mark;
+            }
+        }
+        String literal = source.substring(start, pos);
+        if (literal.equals(".")) {
+            throw new IllegalArgumentException("Invalid number at position " + start);
+        }
+        return Double.parseDouble(literal);
+    }
+
+    private void pushConstant(double value) {
+        if (constantCount == constants.length) {
+            constants = Arrays.copyOf(constants, constantCount * 2);
+        }
+        constants[constantCount] = value;
+        emit(CompiledExpression.OP_CONST, constantCount++);
+        if (++depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    private void pushVariable(String name) {
+        int slot = -1;
+        for (int i = 0; i < variables.length; i++) {
+            if (variables[i].equals(name)) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot < 0) {
+            throw new IllegalArgumentException("Unknown variable '" + name + "'");
+        }
+        emit(CompiledExpression.OP_VAR, slot);
+        if (++depth > maxDepth) {
+            maxDepth = depth;
+        }
+    }
+
+    private void emit(int opcode, int operand) {
+        if (codeLength == code.length) {
+            code = Arrays.copyOf(code, codeLength * 2);
+        }
+        code[codeLength++] = opcode | (operand << CompiledExpression.OPCODE_BITS);
+    }
+
+    private void skipWhitespace() {
+        while (pos < source.length() && Character.isWhitespace(source.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException unexpected() {
+        return new IllegalArgumentException(
+            "Unexpected character '" + source.charAt(pos) + "' at position " + pos);
+    }
+
+    private static int binaryOpcode(char c) {
+        switch (c) {
+            case '+':
+                return CompiledExpression.OP_ADD;
+            case '-':
+                return CompiledExpression.OP_SUB;
+            case '*':
+                return CompiledExpression.OP_MUL;
+            case '/':
+                return CompiledExpression.OP_DIV;
+            default:
+                return -1;
+        }
+    }
+
+    private static int precedenceOf(int opcode) {
+        return opcode == CompiledExpression.OP_MUL || opcode == CompiledExpression.OP_DIV
+            ? PREC_MULTIPLICATIVE
+            : PREC_ADDITIVE;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isIdentifierStart(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_';
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return isIdentifierStart(c) || isDigit(c);
+    }
+
+    private static void checkVariables(String[] variables) {
+        for (int i = 0; i < variables.length; i++) {
+            String name = variables[i];
+            if (name == null || name.isEmpty() || !isIdentifierStart(name.charAt(0))
+                    || !name.chars().allMatch(c -> isIdentifierPart((char) c))) {
+                throw new IllegalArgumentException("Invalid variable name '" + name + "'");
+            }
+            for (int j = 0; j < i; j++) {
+                if (variables[j].equals(name)) {
+                    throw new IllegalArgumentException("Duplicate variable '" + name + "'");
+                }
+            }
+        }
+    }
+}
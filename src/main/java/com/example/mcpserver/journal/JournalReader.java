@@ -0,0 +1,165 @@
+package com.example.mcpserver.journal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JournalReader - Command-line reader for request journal files.
+ *
+ * Usage: {@code JournalReader [--print] [--errors] [--method M] [--tool T] [path...]}
+ * where each path is a journal file or a directory of them (default: {@code journal}).
+ * Without {@code --print} it summarizes the matching records per method and tool:
+ * count, errors, cancellations and latency percentiles, plus the records lost to drops.
+ * With {@code --print} it writes each matching record as one line, oldest first.
+ *
+ * @author mcp-server
+ */
+public final class JournalReader {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Stats> stats = new TreeMap<>();
+    private boolean print;
+    private boolean errorsOnly;
+    private String method;
+    private String tool;
+    private long dropped;
+
+    public static void main(String[] args) throws IOException {
+        JournalReader reader = new JournalReader();
+        List<Path> paths = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--print" -> reader.print = true;
+                case "--errors" -> reader.errorsOnly = true;
+                case "--method" -> reader.method = args[++i];
+                case "--tool" -> reader.tool = args[++i];
+                default -> paths.add(Paths.get(args[i]));
+            }
+        }
+        if (paths.isEmpty()) {
+            paths.add(Paths.get("journal"));
+        }
+        for (Path path : paths) {
+            for (Path file : Files.isDirectory(path) ? JournalWriter.journalFiles(path) : List.of(path)) {
+                reader.read(file, System.out);
+            }
+        }
+        if (!reader.print) {
+            reader.summarize(System.out);
+        }
+    }
+
+    private void read(Path file, PrintStream out) throws IOException {
+        try (BufferedReader lines = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record;
+                try {
+                    record = objectMapper.readTree(line);
+                } catch (IOException e) {
+                    // A torn last line from a crash; skip it
+                    continue;
+                }
+                if (record.has("dropped")) {
+                    dropped += record.get("dropped").asLong();
+                    if (print) {
+                        out.println(line);
+                    }
+                    continue;
+                }
+                if (!matches(record)) {
+                    continue;
+                }
+                if (print) {
+                    out.println(line);
+                } else {
+                    String key = record.path("method").asText("(batch)");
+                    if (record.has("tool")) {
+                        key += " " + record.get("tool").asText();
+                    }
+                    stats.computeIfAbsent(key, k -> new Stats()).add(record);
+                }
+            }
+        }
+    }
+
+    private boolean matches(JsonNode record) {
+        if (errorsOnly && "ok".equals(record.path("outcome").asText())) {
+            return false;
+        }
+        if (method != null && !method.equals(record.path("method").asText(null))) {
+            return false;
+        }
+        return tool == null || tool.equals(record.path("tool").asText(null));
+    }
+
+    private void summarize(PrintStream out) {
+        out.printf(Locale.ROOT, "%-40s %10s %8s %10s %10s %10s %10s%n",
+            "method / tool", "count", "errors", "cancelled", "p50 us", "p99 us", "max us");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            long[] latencies = s.sortedLatencies();
+            out.printf(Locale.ROOT, "%-40s %10d %8d %10d %10d %10d %10d%n",
+                entry.getKey(), s.count, s.errors, s.cancelled,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+        }
+        if (dropped > 0) {
+            out.printf(Locale.ROOT, "%d records were dropped because the journal ring was full%n", dropped);
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    /**
+     * Counts and latencies for one method/tool pair.
+     */
+    private static final class Stats {
+
+        private long count;
+        private long errors;
+        private long cancelled;
+        private long[] latencies = new long[64];
+
+        void add(JsonNode record) {
+            String outcome = record.path("outcome").asText();
+            if ("error".equals(outcome)) {
+                errors++;
+            } else if ("cancelled".equals(outcome)) {
+                cancelled++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[(int) count++] = record.path("latencyUs").asLong();
+        }
+
+        long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, (int) count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.mcpserver.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JournalRing - Preallocated, lock-free, multi-producer single-consumer ring of journal records.
+ *
+ * Records are stored column-wise in parallel arrays allocated once, so offering a record
+ * allocates nothing. A producer claims a sequence number with a CAS on the tail, fills
+ * the slot and publishes it by writing the sequence into the slot's marker. The single
+ * consumer reads slots in sequence order and frees them by advancing the head. When the
+ * ring is full, {@link #offer} fails immediately instead of waiting.
+ *
+ * @author mcp-server
+ */
+final class JournalRing {
+
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+
+    private final long[] timestamps;
+    private final String[] methods;
+    private final String[] tools;
+    private final Object[] ids;
+    private final int[] batchSizes;
+    private final int[] statuses;
+    private final int[] codes;
+    private final long[] latencies;
+    private final int[] requestBytes;
+    private final int[] responseBytes;
+
+    JournalRing(int minCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, minCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.published = new AtomicLongArray(size);
+        this.timestamps = new long[size];
+        this.methods = new String[size];
+        this.tools = new String[size];
+        this.ids = new Object[size];
+        this.batchSizes = new int[size];
+        this.statuses = new int[size];
+        this.codes = new int[size];
+        this.latencies = new long[size];
+        this.requestBytes = new int[size];
+        this.responseBytes = new int[size];
+    }
+
+    /**
+     * Appends a record, or returns false without waiting if the ring is full.
+     */
+    boolean offer(long timestamp, String method, String tool, Object id, int batchSize, int status, int code,
+                  long latencyNanos, int requestSize, int responseSize) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) sequence & mask;
+        timestamps[slot] = timestamp;
+        methods[slot] = method;
+        tools[slot] = tool;
+        ids[slot] = id;
+        batchSizes[slot] = batchSize;
+        statuses[slot] = status;
+        codes[slot] = code;
+        latencies[slot] = latencyNanos;
+        requestBytes[slot] = requestSize;
+        responseBytes[slot] = responseSize;
+        // Release: the consumer only reads the slot once it sees this marker
+        published.lazySet(slot, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Moves the oldest published record into {@code into}. Must only be called by the consumer.
+     *
+     * @return false if no record is ready
+     */
+    boolean poll(Record into) {
+        long sequence = head;
+        int slot = (int) sequence & mask;
+        if (published.get(slot) != sequence + 1) {
+            return false;
+        }
+        into.timestamp = timestamps[slot];
+        into.method = methods[slot];
+        into.tool = tools[slot];
+        into.id = ids[slot];
+        into.batchSize = batchSizes[slot];
+        into.status = statuses[slot];
+        into.code = codes[slot];
+        into.latencyNanos = latencies[slot];
+        into.requestBytes = requestBytes[slot];
+        into.responseBytes = responseBytes[slot];
+        // Drop references so the ring does not keep request data reachable
+        methods[slot] = null;
+        tools[slot] = null;
+        ids[slot] = null;
+        head = sequence + 1;
+        return true;
+    }
+
+    /**
+     * Returns the number of claimed slots not yet consumed.
+     */
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Record - One journal record, reused by the consumer for every poll.
+     */
+    static final class Record {
+
+        long timestamp;
+        String method;
+        String tool;
+        Object id;
+        int batchSize;
+        int status;
+        int code;
+        long latencyNanos;
+        int requestBytes;
+        int responseBytes;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.mcpserver.journal;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JournalWriter - Writes journal records as JSON lines to size-bounded rolling files.
+ *
+ * Files are named {@code requests-<UTC timestamp>.jsonl}, so name order is creation
+ * order. A new file is started once the current one reaches the size limit, and the
+ * oldest files beyond the retention count are deleted. Only the drain thread uses it.
+ *
+ * @author mcp-server
+ */
+final class JournalWriter implements Closeable {
+
+    static final String FILE_PREFIX = "requests-";
+    static final String FILE_SUFFIX = ".jsonl";
+
+    private static final DateTimeFormatter FILE_TIME =
+        DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final JsonFactory factory;
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private CountingStream out;
+    private JsonGenerator generator;
+
+    JournalWriter(JsonFactory factory, Path directory, long maxFileBytes, int maxFiles) {
+        this.factory = factory;
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    void write(JournalRing.Record record) throws IOException {
+        JsonGenerator json = generator();
+        json.writeStartObject();
+        json.writeNumberField("ts", record.timestamp);
+        if (record.method != null) {
+            json.writeStringField("method", record.method);
+        }
+        if (record.tool != null) {
+            json.writeStringField("tool", record.tool);
+        }
+        if (record.id instanceof String text) {
+            json.writeStringField("id", text);
+        } else if (record.id != null) {
+            json.writeFieldName("id");
+            json.writeNumber(record.id.toString());
+        }
+        if (record.batchSize > 0) {
+            json.writeNumberField("batch", record.batchSize);
+        }
+        json.writeStringField("outcome", RequestJournal.outcome(record.status, record.code));
+        json.writeNumberField("status", record.status);
+        if (record.code != 0) {
+            json.writeNumberField("code", record.code);
+        }
+        json.writeNumberField("latencyUs", record.latencyNanos / 1_000);
+        json.writeNumberField("requestBytes", record.requestBytes);
+        json.writeNumberField("responseBytes", record.responseBytes);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    /**
+     * Writes a marker for records lost because the ring was full, so readers can tell
+     * where the journal has gaps.
+     */
+    void writeDropped(long timestamp, long dropped) throws IOException {
+        JsonGenerator json = generator();
+        json.writeStartObject();
+        json.writeNumberField("ts", timestamp);
+        json.writeNumberField("dropped", dropped);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    void flush() throws IOException {
+        if (generator != null) {
+            generator.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (generator != null) {
+            generator.close();
+            generator = null;
+            out = null;
+        }
+    }
+
+    private JsonGenerator generator() throws IOException {
+        if (generator != null && out.count + generator.getOutputBuffered() >= maxFileBytes) {
+            close();
+        }
+        if (generator == null) {
+            open();
+        }
+        return generator;
+    }
+
+    private void open() throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(FILE_PREFIX + FILE_TIME.format(Instant.now()) + FILE_SUFFIX);
+        out = new CountingStream(new BufferedOutputStream(
+            Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024));
+        generator = factory.createGenerator(out);
+        deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        List<Path> files = journalFiles(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * Returns the journal files in a directory, oldest first.
+     */
+    static List<Path> journalFiles(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Counts bytes handed to the file, to know when to roll over.
+     */
+    private static final class CountingStream extends FilterOutputStream {
+
+        long count;
+
+        CountingStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
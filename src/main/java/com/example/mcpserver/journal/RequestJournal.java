@@ -0,0 +1,177 @@
+package com.example.mcpserver.journal;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * RequestJournal - Structured, sampled record of every POST /api/v1/mpc request, written off the request path.
+ *
+ * Request threads only copy a few fields into a preallocated {@link JournalRing}; they never
+ * format text, take a lock or touch the disk. One background thread drains the ring to
+ * rolling JSON-lines files (see {@link JournalWriter}, read back with {@link JournalReader}).
+ *
+ * Loss is bounded and visible: when the drain falls behind and the ring is full, new records
+ * are dropped and counted, and the count is written to the journal as a marker line.
+ * Successful requests are sampled at the configured rate; failed ones are always kept.
+ *
+ * @author mcp-server
+ */
+@Component
+public class RequestJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestJournal.class);
+
+    /** Records written per drain pass before checking for drops and flushing. */
+    private static final int DRAIN_BATCH = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final JournalRing ring;
+    private final JournalWriter writer;
+    private final long flushIntervalNanos;
+    private final AtomicLong droppedSinceMarker = new AtomicLong();
+    private final Counter written;
+    private final Counter dropped;
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public RequestJournal(McpServerProperties properties, ObjectMapper objectMapper, MeterRegistry registry) {
+        McpServerProperties.Journal config = properties.getJournal();
+        this.enabled = config.isEnabled();
+        this.sampleRate = Math.min(1.0, Math.max(0.0, config.getSampleRate()));
+        this.ring = new JournalRing(enabled ? config.getCapacity() : 2);
+        this.writer = new JournalWriter(objectMapper.getFactory(), Paths.get(config.getDirectory()),
+            config.getMaxFileSize().toBytes(), config.getMaxFiles());
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+
+        this.written = Counter.builder("mcp.journal.written")
+            .description("Journal records written to disk")
+            .register(registry);
+        this.dropped = Counter.builder("mcp.journal.dropped")
+            .description("Journal records dropped because the ring buffer was full")
+            .register(registry);
+        Gauge.builder("mcp.journal.backlog", ring, JournalRing::size)
+            .description("Journal records waiting to be written")
+            .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drain, "mcp-journal");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records one request. Never blocks; the record is dropped if the ring is full.
+     *
+     * @param method        JSON-RPC method of a single request, or null for batches and undecoded bodies
+     * @param tool          tool name of a tools/call, or null
+     * @param id            request id, or null
+     * @param batchSize     number of entries of a batch request, or 0
+     * @param status        HTTP status of the response, or 0 if none was sent
+     * @param code          JSON-RPC error code of the response, or 0
+     * @param latencyNanos  time from receipt to completion
+     * @param requestBytes  request body size
+     * @param responseBytes response body size
+     */
+    public void record(String method, String tool, Object id, int batchSize, int status, int code,
+                       long latencyNanos, int requestBytes, int responseBytes) {
+        if (!enabled) {
+            return;
+        }
+        boolean failed = status == 0 || status >= 400 || code != 0;
+        if (!failed && sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        if (!ring.offer(System.currentTimeMillis(), method, tool, id, batchSize, status, code,
+                latencyNanos, requestBytes, responseBytes)) {
+            dropped.increment();
+            droppedSinceMarker.incrementAndGet();
+        }
+    }
+
+    static String outcome(int status, int code) {
+        if (status == 0) {
+            return "cancelled";
+        }
+        return status >= 400 || code != 0 ? "error" : "ok";
+    }
+
+    private void drain() {
+        JournalRing.Record record = new JournalRing.Record();
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        while (true) {
+            int count = 0;
+            try {
+                while (count < DRAIN_BATCH && ring.poll(record)) {
+                    writer.write(record);
+                    count++;
+                }
+                long lost = droppedSinceMarker.getAndSet(0);
+                if (lost > 0) {
+                    writer.writeDropped(System.currentTimeMillis(), lost);
+                }
+                dirty |= count > 0 || lost > 0;
+                long now = System.nanoTime();
+                if (dirty && (count == 0 || now - lastFlush >= flushIntervalNanos)) {
+                    writer.flush();
+                    lastFlush = now;
+                    dirty = false;
+                }
+            } catch (IOException e) {
+                // The records of this pass are lost; keep draining so request threads never back up
+                log.warn("Failed to write request journal: {}", e.getMessage());
+            }
+            written.increment(count);
+            if (count == 0) {
+                if (!running) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Failed to close request journal: {}", e.getMessage());
+        }
+    }
+}
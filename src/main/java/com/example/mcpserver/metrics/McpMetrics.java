@@ -0,0 +1,245 @@
+package com.example.mcpserver.metrics;
+
+import com.example.mcpserver.rpc.JsonRpcError;
+import com.example.mcpserver.tool.ToolDefinition;
+import com.example.mcpserver.tool.ToolRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * McpMetrics - Pre-registered meters for the JSON-RPC endpoint and the tools behind it.
+ *
+ * Every meter is created at startup, one set per known method and per registered tool,
+ * so recording is a map lookup by name plus an update of an existing meter. No tags are
+ * built per call. Unknown methods share the {@value #OTHER_METHOD} meters and
+ * unexpected error codes share the {@value #OTHER_CODE} counter.
+ *
+ * @author mcp-server
+ */
+@Component
+public class McpMetrics {
+
+    static final String OTHER_METHOD = "other";
+    static final String OTHER_CODE = "other";
+
+    private static final String[] METHODS = {
+        "initialize", "tools/list", "tools/call", "notifications/list", "notifications/cancelled", "ping",
+        OTHER_METHOD
+    };
+
+    private static final int[] ERROR_CODES = {
+        JsonRpcError.PARSE_ERROR,
+        JsonRpcError.INVALID_REQUEST,
+        JsonRpcError.METHOD_NOT_FOUND,
+        JsonRpcError.INVALID_PARAMS,
+        JsonRpcError.INTERNAL_ERROR,
+        JsonRpcError.SERVER_BUSY,
+        JsonRpcError.TOOL_TIMEOUT,
+        JsonRpcError.RATE_LIMITED,
+        JsonRpcError.REQUEST_CANCELLED
+    };
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry registry;
+    private final Map<String, MethodMeters> methods = new HashMap<>();
+    private final Map<String, ToolMeters> tools = new HashMap<>();
+    private final Counter[] errorCounters = new Counter[ERROR_CODES.length];
+    private final Counter otherErrors;
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
+    private final DistributionSummary requestSize;
+    private final DistributionSummary responseSize;
+
+    public McpMetrics(MeterRegistry registry, ToolRegistry toolRegistry) {
+        this.registry = registry;
+        for (String method : METHODS) {
+            methods.put(method, new MethodMeters(registry, method));
+        }
+        for (ToolDefinition tool : toolRegistry.getTools()) {
+            tools.put(tool.getName(), new ToolMeters(registry, tool));
+        }
+        for (int i = 0; i < ERROR_CODES.length; i++) {
+            errorCounters[i] = errorCounter(registry, String.valueOf(ERROR_CODES[i]));
+        }
+        otherErrors = errorCounter(registry, OTHER_CODE);
+
+        Gauge.builder("mcp.requests.in.flight", requestsInFlight, AtomicInteger::get)
+            .description("HTTP requests to /api/v1/mpc currently being handled")
+            .register(registry);
+        requestSize = payloadSummary(registry, "mcp.request.size", "JSON-RPC request body size");
+        responseSize = payloadSummary(registry, "mcp.response.size", "JSON-RPC response body size");
+    }
+
+    /**
+     * Returns the meters for a JSON-RPC method, or the shared ones for unknown methods.
+     */
+    public MethodMeters forMethod(String method) {
+        MethodMeters meters = method == null ? null : methods.get(method);
+        return meters != null ? meters : methods.get(OTHER_METHOD);
+    }
+
+    /**
+     * Returns the meters for a registered tool, or null for unknown tools.
+     */
+    public ToolMeters forTool(String name) {
+        return tools.get(name);
+    }
+
+    /**
+     * Counts one error response with the given JSON-RPC error code.
+     */
+    public void recordError(int code) {
+        for (int i = 0; i < ERROR_CODES.length; i++) {
+            if (ERROR_CODES[i] == code) {
+                errorCounters[i].increment();
+                return;
+            }
+        }
+        otherErrors.increment();
+    }
+
+    /**
+     * Marks an HTTP request as started and records its body size.
+     */
+    public void requestStarted(int requestBytes) {
+        requestsInFlight.incrementAndGet();
+        requestSize.record(requestBytes);
+    }
+
+    /**
+     * Marks an HTTP request as finished, whether it completed, failed or was cancelled.
+     */
+    public void requestFinished() {
+        requestsInFlight.decrementAndGet();
+    }
+
+    public void recordResponseSize(int responseBytes) {
+        responseSize.record(responseBytes);
+    }
+
+    /**
+     * Exposes the queue depth and busy workers of a tool category's pool.
+     */
+    public void registerToolQueue(String category, ThreadPoolExecutor executor) {
+        Gauge.builder("mcp.tool.queue.depth", executor, pool -> pool.getQueue().size())
+            .description("Tool calls waiting for a worker")
+            .tag("category", category)
+            .register(registry);
+        Gauge.builder("mcp.tool.pool.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Workers currently running a tool call")
+            .tag("category", category)
+            .register(registry);
+    }
+
+    private static Counter errorCounter(MeterRegistry registry, String code) {
+        return Counter.builder("mcp.errors")
+            .description("JSON-RPC error responses by error code")
+            .tag("code", code)
+            .register(registry);
+    }
+
+    private static DistributionSummary payloadSummary(MeterRegistry registry, String name, String description) {
+        return DistributionSummary.builder(name)
+            .description(description)
+            .baseUnit("bytes")
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    private static Timer latencyTimer(MeterRegistry registry, String name, String description,
+                                      String tagKey, String tagValue, String outcome) {
+        Timer.Builder builder = Timer.builder(name)
+            .description(description)
+            .tag(tagKey, tagValue)
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram();
+        if (outcome != null) {
+            builder.tag("outcome", outcome);
+        }
+        return builder.register(registry);
+    }
+
+    /**
+     * MethodMeters - Latency and in-flight count for one JSON-RPC method.
+     */
+    public static final class MethodMeters {
+
+        private final Timer latency;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        MethodMeters(MeterRegistry registry, String method) {
+            latency = latencyTimer(registry, "mcp.method.duration",
+                "JSON-RPC request handling time by method", "method", method, null);
+            Gauge.builder("mcp.method.in.flight", inFlight, AtomicInteger::get)
+                .description("JSON-RPC requests in flight by method")
+                .tag("method", method)
+                .register(registry);
+        }
+
+        /**
+         * Marks a request as started and returns the start time to pass to {@link #stop(long)}.
+         */
+        public long start() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        public void stop(long startNanos) {
+            latency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * ToolMeters - Latency by outcome and in-flight count for one tool.
+     */
+    public static final class ToolMeters {
+
+        private final Timer success;
+        private final Timer failure;
+        private final Timer cancelled;
+        private final AtomicInteger inFlight = new AtomicInteger();
+
+        ToolMeters(MeterRegistry registry, ToolDefinition tool) {
+            String description = "Tool call time, including the wait for a worker";
+            success = latencyTimer(registry, "mcp.tool.duration", description, "tool", tool.getName(), "success");
+            failure = latencyTimer(registry, "mcp.tool.duration", description, "tool", tool.getName(), "error");
+            cancelled = latencyTimer(registry, "mcp.tool.duration", description, "tool", tool.getName(), "cancelled");
+            Gauge.builder("mcp.tool.in.flight", inFlight, AtomicInteger::get)
+                .description("Tool calls in flight, queued or running")
+                .tag("tool", tool.getName())
+                .register(registry);
+        }
+
+        /**
+         * Marks a call as started and returns the start time to pass to {@link #stop(long, SignalType)}.
+         */
+        public long start() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        /**
+         * Records the call under the outcome given by its terminal signal.
+         */
+        public void stop(long startNanos, SignalType signal) {
+            Timer timer = signal == SignalType.ON_COMPLETE ? success
+                : signal == SignalType.ON_ERROR ? failure
+                : cancelled;
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            inFlight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * CborCodec - Reads and writes the JSON-RPC envelope as CBOR.
+ *
+ * Objects are written by a copy of the application ObjectMapper bound to a CBOR factory,
+ * so serialization settings match the JSON path. Pre-encoded JSON ({@link RawJson}) is
+ * transcoded token by token, without building a tree.
+ *
+ * @author mcp-server
+ */
+@Component
+public class CborCodec {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    private final ObjectMapper mapper;
+
+    public CborCodec(ObjectMapper objectMapper) {
+        this.mapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    /**
+     * Returns the factory for parsing CBOR request bodies; its parsers can bind trees to objects.
+     */
+    public JsonFactory getFactory() {
+        return mapper.getFactory();
+    }
+
+    /**
+     * Encodes a response value as CBOR.
+     */
+    public byte[] encode(Object value) {
+        if (value instanceof RawJson raw) {
+            return raw.toCbor();
+        }
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode CBOR response", e);
+        }
+    }
+
+    /**
+     * Transcodes a complete JSON value to CBOR.
+     */
+    static byte[] fromJson(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonGenerator generator = CBOR_FACTORY.createGenerator(out)) {
+            copyJson(json, generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes a complete JSON value to a generator of any format.
+     */
+    static void copyJson(byte[] json, JsonGenerator target) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            parser.nextToken();
+            target.copyCurrentStructure(parser);
+        }
+    }
+
+    /**
+     * Encodes a JSON-RPC id (null, string or number) as a CBOR data item.
+     */
+    static byte[] encodeId(Object id) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        try (JsonGenerator generator = CBOR_FACTORY.createGenerator(out)) {
+            if (id == null) {
+                generator.writeNull();
+            } else if (id instanceof Integer value) {
+                generator.writeNumber(value);
+            } else if (id instanceof Long value) {
+                generator.writeNumber(value);
+            } else if (id instanceof BigInteger value) {
+                generator.writeNumber(value);
+            } else if (id instanceof BigDecimal value) {
+                generator.writeNumber(value);
+            } else if (id instanceof Number value) {
+                generator.writeNumber(value.doubleValue());
+            } else {
+                generator.writeString(id.toString());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
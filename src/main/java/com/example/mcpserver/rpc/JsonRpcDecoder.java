@@ -0,0 +1,273 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolDefinition;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JsonRpcDecoder - Streaming decoder for JSON-RPC 2.0 request bodies.
+ *
+ * Walks the token stream once instead of binding the body to a generic map. Once the
+ * method is known, params are decoded only as far as that method needs: tools/call
+ * arguments are read straight into the target tool's parameter types, the requestId of
+ * notifications/cancelled is kept, and params of other methods are skipped. Members that
+ * arrive before the member that gives them meaning (params before method, arguments
+ * before name) are buffered as tokens and replayed.
+ *
+ * @author mcp-server
+ */
+@Component
+public class JsonRpcDecoder {
+
+    private static final String TOOLS_CALL = "tools/call";
+    private static final String CANCELLED = "notifications/cancelled";
+
+    private final ObjectMapper objectMapper;
+    private final ToolRegistry toolRegistry;
+
+    public JsonRpcDecoder(ObjectMapper objectMapper, ToolRegistry toolRegistry) {
+        this.objectMapper = objectMapper;
+        this.toolRegistry = toolRegistry;
+    }
+
+    /**
+     * Decodes a JSON request body. Malformed JSON yields a single request carrying a
+     * parse error rather than an exception.
+     */
+    public JsonRpcPayload decode(byte[] body) {
+        return decode(objectMapper.getFactory(), body);
+    }
+
+    /**
+     * Decodes a request body with the given parser factory.
+     */
+    public JsonRpcPayload decode(JsonFactory factory, byte[] body) {
+        try (JsonParser parser = factory.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                List<JsonRpcRequest> requests = new ArrayList<>();
+                while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    if (token == null) {
+                        return parseError("Unexpected end of input");
+                    }
+                    requests.add(token == JsonToken.START_OBJECT ? readRequest(parser) : invalidEntry(parser));
+                }
+                return new JsonRpcPayload(true, requests);
+            }
+            if (token == JsonToken.START_OBJECT) {
+                return JsonRpcPayload.single(readRequest(parser));
+            }
+            if (token == null) {
+                return parseError("Empty request body");
+            }
+            return JsonRpcPayload.single(invalidEntry(parser));
+        } catch (JsonProcessingException e) {
+            return parseError(e.getOriginalMessage());
+        } catch (IOException e) {
+            return parseError(e.getMessage());
+        }
+    }
+
+    private JsonRpcRequest readRequest(JsonParser parser) throws IOException {
+        Object id = null;
+        boolean hasId = false;
+        boolean invalidId = false;
+        String method = null;
+        TokenBuffer bufferedParams = null;
+        ToolCall toolCall = null;
+        Object cancelledId = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "id":
+                    hasId = true;
+                    id = readIdValue(parser);
+                    if (id == null && value != JsonToken.VALUE_NULL) {
+                        invalidId = true;
+                        parser.skipChildren();
+                    }
+                    break;
+                case "method":
+                    if (value == JsonToken.VALUE_STRING) {
+                        method = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "params":
+                    if (method == null) {
+                        bufferedParams = copyValue(parser);
+                    } else if (TOOLS_CALL.equals(method)) {
+                        toolCall = readToolCall(parser);
+                    } else if (CANCELLED.equals(method)) {
+                        cancelledId = readCancelledId(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        if (invalidId) {
+            return JsonRpcRequest.invalid(null, JsonRpcError.INVALID_REQUEST, "Invalid Request: id must be a string, number or null");
+        }
+        if (method == null) {
+            return JsonRpcRequest.invalid(id, JsonRpcError.INVALID_REQUEST, "Invalid Request: missing method");
+        }
+        if (bufferedParams != null && (TOOLS_CALL.equals(method) || CANCELLED.equals(method))) {
+            try (JsonParser replay = bufferedParams.asParser(objectMapper)) {
+                replay.nextToken();
+                if (TOOLS_CALL.equals(method)) {
+                    toolCall = readToolCall(replay);
+                } else {
+                    cancelledId = readCancelledId(replay);
+                }
+            }
+        }
+        return new JsonRpcRequest(id, !hasId, method, toolCall, cancelledId, null);
+    }
+
+    /**
+     * Reads the requestId member of notifications/cancelled params, or returns null.
+     */
+    private static Object readCancelledId(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Object requestId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("requestId".equals(field)) {
+                requestId = readIdValue(parser);
+            }
+            parser.skipChildren();
+        }
+        return requestId;
+    }
+
+    /**
+     * Reads a string or number id the same way for request ids, cancelled ids and
+     * progress tokens, so they compare equal. Other values yield null.
+     */
+    private static Object readIdValue(JsonParser parser) throws IOException {
+        JsonToken value = parser.currentToken();
+        if (value == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        if (value == JsonToken.VALUE_NUMBER_INT || value == JsonToken.VALUE_NUMBER_FLOAT) {
+            return parser.getNumberValue();
+        }
+        return null;
+    }
+
+    private ToolCall readToolCall(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String name = null;
+        ToolDefinition tool = null;
+        TokenBuffer bufferedArguments = null;
+        Object[] arguments = null;
+        RuntimeException argumentError = null;
+        boolean argumentsSeen = false;
+        Object progressToken = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("name".equals(field)) {
+                name = parser.currentToken() == JsonToken.VALUE_STRING ? parser.getText() : null;
+                parser.skipChildren();
+                tool = toolRegistry.find(name);
+            } else if ("arguments".equals(field)) {
+                argumentsSeen = true;
+                if (name == null) {
+                    bufferedArguments = copyValue(parser);
+                } else if (tool == null) {
+                    parser.skipChildren();
+                } else {
+                    try {
+                        arguments = tool.readArguments(parser);
+                    } catch (IllegalArgumentException e) {
+                        argumentError = e;
+                    }
+                }
+            } else if ("_meta".equals(field)) {
+                progressToken = readProgressToken(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        if (tool == null) {
+            return new ToolCall(name, null, null, null, progressToken);
+        }
+        try {
+            if (bufferedArguments != null) {
+                try (JsonParser replay = bufferedArguments.asParser(objectMapper)) {
+                    replay.nextToken();
+                    arguments = tool.readArguments(replay);
+                }
+            } else if (!argumentsSeen) {
+                arguments = tool.emptyArguments();
+            }
+        } catch (IllegalArgumentException e) {
+            argumentError = e;
+        }
+        return new ToolCall(name, tool, argumentError == null ? arguments : null, argumentError, progressToken);
+    }
+
+    /**
+     * Reads the progressToken member of a request's _meta object, or returns null.
+     */
+    private static Object readProgressToken(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        Object progressToken = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            parser.nextToken();
+            if ("progressToken".equals(field)) {
+                progressToken = readIdValue(parser);
+            }
+            parser.skipChildren();
+        }
+        return progressToken;
+    }
+
+    private TokenBuffer copyValue(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        return buffer;
+    }
+
+    private static JsonRpcRequest invalidEntry(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return JsonRpcRequest.invalid(null, JsonRpcError.INVALID_REQUEST, "Invalid Request");
+    }
+
+    private static JsonRpcPayload parseError(String detail) {
+        return JsonRpcPayload.single(JsonRpcRequest.invalid(null, JsonRpcError.PARSE_ERROR, "Parse error: " + detail));
+    }
+}
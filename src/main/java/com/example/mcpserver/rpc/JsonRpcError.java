@@ -0,0 +1,19 @@
+package com.example.mcpserver.rpc;
+
+/**
+ * JsonRpcError - The error member of a JSON-RPC 2.0 response.
+ *
+ * @author mcp-server
+ */
+public record JsonRpcError(int code, String message) {
+
+    public static final int REQUEST_CANCELLED = -32800;
+    public static final int PARSE_ERROR = -32700;
+    public static final int INVALID_REQUEST = -32600;
+    public static final int METHOD_NOT_FOUND = -32601;
+    public static final int INVALID_PARAMS = -32602;
+    public static final int INTERNAL_ERROR = -32603;
+    public static final int SERVER_BUSY = -32000;
+    public static final int TOOL_TIMEOUT = -32001;
+    public static final int RATE_LIMITED = -32002;
+}
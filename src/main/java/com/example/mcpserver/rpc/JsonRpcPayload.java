@@ -0,0 +1,22 @@
+package com.example.mcpserver.rpc;
+
+import java.util.List;
+
+/**
+ * JsonRpcPayload - A decoded request body: one request, or the entries of a batch array.
+ *
+ * @author mcp-server
+ */
+public record JsonRpcPayload(boolean batch, List<JsonRpcRequest> requests) {
+
+    static JsonRpcPayload single(JsonRpcRequest request) {
+        return new JsonRpcPayload(false, List.of(request));
+    }
+
+    /**
+     * Returns the request of a non-batch payload.
+     */
+    public JsonRpcRequest single() {
+        return requests.get(0);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.tool.ToolCall;
+
+/**
+ * JsonRpcRequest - One decoded JSON-RPC 2.0 request.
+ *
+ * Only what dispatch needs is kept: params of tools/call are decoded into a
+ * {@link ToolCall} already shaped for the target tool, notifications/cancelled keeps
+ * the id of the request to cancel, and params of other methods are skipped. A request
+ * that failed to decode carries the error to answer with.
+ *
+ * @param id           request id (String, Number or null)
+ * @param notification true if the request had no id member
+ * @param method       method name, or null if the request is invalid
+ * @param toolCall     decoded tools/call params, or null for other methods
+ * @param cancelledId  requestId of a notifications/cancelled, or null for other methods
+ * @param error        decode error to answer with, or null
+ * @author mcp-server
+ */
+public record JsonRpcRequest(Object id, boolean notification, String method, ToolCall toolCall, Object cancelledId,
+                             JsonRpcError error) {
+
+    static JsonRpcRequest invalid(Object id, int code, String message) {
+        return new JsonRpcRequest(id, false, null, null, null, new JsonRpcError(code, message));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * JsonRpcResponse - Immutable JSON-RPC 2.0 response envelope.
+ *
+ * Exactly one of {@code result} and {@code error} is set; {@code id} is always written,
+ * as null when the request id could not be determined.
+ *
+ * @author mcp-server
+ */
+@JsonPropertyOrder({"jsonrpc", "id", "result", "error"})
+public record JsonRpcResponse(
+    String jsonrpc,
+    Object id,
+    @JsonInclude(JsonInclude.Include.NON_NULL) Object result,
+    @JsonInclude(JsonInclude.Include.NON_NULL) JsonRpcError error
+) {
+
+    public static final String VERSION = "2.0";
+
+    public static JsonRpcResponse success(Object id, Object result) {
+        return new JsonRpcResponse(VERSION, id, result, null);
+    }
+
+    public static JsonRpcResponse error(Object id, int code, String message) {
+        return new JsonRpcResponse(VERSION, id, null, new JsonRpcError(code, message));
+    }
+
+    public static JsonRpcResponse error(Object id, JsonRpcError error) {
+        return new JsonRpcResponse(VERSION, id, null, error);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mcpserver.rpc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * PendingRequests - Tracks cancellable requests by id so notifications/cancelled can reach them.
+ *
+ * Request ids are only unique per client, so entries are keyed by a scope (the MCP session,
+ * or the client key when there is none) plus the id. Cancelling an entry completes its
+ * handling Mono early, which cancels everything upstream of it, down to the running tool.
+ * A request whose id is already pending in the same scope runs untracked.
+ *
+ * @author mcp-server
+ */
+@Component
+public class PendingRequests {
+
+    private final Map<Key, Sinks.One<Boolean>> pending = new ConcurrentHashMap<>();
+    private final Counter cancelled;
+
+    public PendingRequests(MeterRegistry registry) {
+        Gauge.builder("mcp.requests.cancellable", pending, Map::size)
+            .description("Requests that a notifications/cancelled can currently reach")
+            .register(registry);
+        this.cancelled = Counter.builder("mcp.requests.cancelled")
+            .description("Requests cancelled by a notifications/cancelled")
+            .register(registry);
+    }
+
+    /**
+     * Makes the request cancellable for as long as the returned Mono runs.
+     * The returned Mono completes empty if the request is cancelled.
+     */
+    public <T> Mono<T> track(String scope, Object id, Mono<T> handling) {
+        if (id == null) {
+            return handling;
+        }
+        return Mono.defer(() -> {
+            Key key = new Key(scope, id);
+            Sinks.One<Boolean> signal = Sinks.one();
+            if (pending.putIfAbsent(key, signal) != null) {
+                return handling;
+            }
+            return handling
+                .takeUntilOther(signal.asMono())
+                .doFinally(s -> pending.remove(key, signal));
+        });
+    }
+
+    /**
+     * Cancels the pending request with this id in this scope.
+     *
+     * @return false if no such request is pending, e.g. because it already completed
+     */
+    public boolean cancel(String scope, Object id) {
+        Sinks.One<Boolean> signal = id == null ? null : pending.remove(new Key(scope, id));
+        if (signal == null) {
+            return false;
+        }
+        cancelled.increment();
+        signal.tryEmitValue(Boolean.TRUE);
+        return true;
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    private record Key(String scope, Object id) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * PreEncodedResponse - A JSON-RPC success response whose result never changes.
+ *
+ * The result is serialized once; rendering a response only encodes the request id
+ * and copies it between the fixed envelope prefix and the pre-encoded result. The
+ * ETag is derived from the result alone, so it is stable across request ids.
+ *
+ * The CBOR form of the result is transcoded from the JSON form on first use, so
+ * responses only ever requested as JSON pay nothing for it.
+ *
+ * @author mcp-server
+ */
+public final class PreEncodedResponse {
+
+    private static final byte[] PREFIX = "{\"jsonrpc\":\"2.0\",\"id\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL_ID = "null".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] RESULT_HEAD = ",\"result\":".getBytes(StandardCharsets.UTF_8);
+
+    /** CBOR map of three pairs, then "jsonrpc": "2.0" and the "id" key. */
+    private static final byte[] CBOR_PREFIX = concat(new byte[] {(byte) 0xA3},
+        cborText("jsonrpc"), cborText("2.0"), cborText("id"));
+    private static final byte[] CBOR_RESULT_KEY = cborText("result");
+
+    private final ObjectMapper objectMapper;
+    private final byte[] suffix;
+    private volatile String etag;
+    private volatile byte[] cborSuffix;
+
+    private PreEncodedResponse(ObjectMapper objectMapper, byte[] suffix) {
+        this.objectMapper = objectMapper;
+        this.suffix = suffix;
+    }
+
+    /**
+     * Serializes the result once and prepares the envelope around it.
+     */
+    public static PreEncodedResponse of(ObjectMapper objectMapper, Object result) {
+        byte[] resultBytes;
+        try {
+            resultBytes = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot pre-encode response", e);
+        }
+        byte[] suffix = new byte[RESULT_HEAD.length + resultBytes.length + 1];
+        System.arraycopy(RESULT_HEAD, 0, suffix, 0, RESULT_HEAD.length);
+        System.arraycopy(resultBytes, 0, suffix, RESULT_HEAD.length, resultBytes.length);
+        suffix[suffix.length - 1] = '}';
+        return new PreEncodedResponse(objectMapper, suffix);
+    }
+
+    /**
+     * Renders the full response for the given request id.
+     */
+    public RawJson render(Object id) {
+        byte[] idBytes = encodeId(id);
+        byte[] out = new byte[PREFIX.length + idBytes.length + suffix.length];
+        System.arraycopy(PREFIX, 0, out, 0, PREFIX.length);
+        System.arraycopy(idBytes, 0, out, PREFIX.length, idBytes.length);
+        System.arraycopy(suffix, 0, out, PREFIX.length + idBytes.length, suffix.length);
+        return new RawJson(out, this, id);
+    }
+
+    /**
+     * Encodes the full response for the given request id in the given format.
+     */
+    public byte[] encode(Object id, WireFormat format) {
+        if (format == WireFormat.JSON) {
+            return render(id).getBytes();
+        }
+        byte[] tail = cborSuffix;
+        if (tail == null) {
+            // Racing threads compute the same value, so a lost update is harmless
+            tail = concat(CBOR_RESULT_KEY, CborCodec.fromJson(jsonResult()));
+            cborSuffix = tail;
+        }
+        return concat(CBOR_PREFIX, CborCodec.encodeId(id), tail);
+    }
+
+    public String getEtag() {
+        String tag = etag;
+        if (tag == null) {
+            // Racing threads compute the same value, so a lost update is harmless
+            tag = "\"" + DigestUtils.md5DigestAsHex(jsonResult()) + "\"";
+            etag = tag;
+        }
+        return tag;
+    }
+
+    /**
+     * Returns the ETag of the response in the given format; each encoding is its own representation.
+     */
+    public String getEtag(WireFormat format) {
+        String tag = getEtag();
+        return format == WireFormat.JSON ? tag : tag.substring(0, tag.length() - 1) + "-cbor\"";
+    }
+
+    /**
+     * Returns true if an If-None-Match header value matches the ETag of the given format.
+     */
+    public boolean matches(String ifNoneMatch, WireFormat format) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String etag = getEtag(format);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private byte[] jsonResult() {
+        return Arrays.copyOfRange(suffix, RESULT_HEAD.length, suffix.length - 1);
+    }
+
+    /**
+     * Encodes a short ASCII string as a CBOR text string.
+     */
+    private static byte[] cborText(String text) {
+        byte[] bytes = new byte[text.length() + 1];
+        bytes[0] = (byte) (0x60 | text.length());
+        System.arraycopy(text.getBytes(StandardCharsets.US_ASCII), 0, bytes, 1, text.length());
+        return bytes;
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] out = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, out, offset, part.length);
+            offset += part.length;
+        }
+        return out;
+    }
+
+    private byte[] encodeId(Object id) {
+        if (id == null) {
+            return NULL_ID;
+        }
+        if (id instanceof Integer || id instanceof Long) {
+            return id.toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        try {
+            return objectMapper.writeValueAsBytes(id);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unsupported request id: " + id, e);
+        }
+    }
+}
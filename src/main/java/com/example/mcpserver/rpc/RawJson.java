@@ -0,0 +1,69 @@
+package com.example.mcpserver.rpc;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RawJson - Already-encoded UTF-8 JSON that is written to the response as-is.
+ *
+ * Returned directly it is written as the response body without going through Jackson;
+ * nested inside another value (e.g. a batch array) it is emitted verbatim. Binary
+ * generators cannot take raw text, so for them the JSON is transcoded token by token.
+ *
+ * @author mcp-server
+ */
+public final class RawJson implements JsonSerializable {
+
+    private final byte[] bytes;
+    private final PreEncodedResponse source;
+    private final Object id;
+
+    public RawJson(byte[] bytes) {
+        this(bytes, null, null);
+    }
+
+    /**
+     * A response rendered from a pre-encoded one, which can also render itself as CBOR directly.
+     */
+    RawJson(byte[] bytes, PreEncodedResponse source, Object id) {
+        this.bytes = bytes;
+        this.source = source;
+        this.id = id;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the same value encoded as CBOR.
+     */
+    public byte[] toCbor() {
+        return source != null ? source.encode(id, WireFormat.CBOR) : CborCodec.fromJson(bytes);
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (gen.canWriteBinaryNatively()) {
+            CborCodec.copyJson(bytes, gen);
+        } else {
+            gen.writeRawValue(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.mcpserver.rpc;
+
+import java.util.List;
+
+/**
+ * ToolCallResult - The result of an MCP tools/call request.
+ *
+ * @author mcp-server
+ */
+public record ToolCallResult(List<Content> content) {
+
+    /**
+     * Wraps a single text content item.
+     */
+    public static ToolCallResult text(String text) {
+        return new ToolCallResult(List.of(new Content("text", text)));
+    }
+
+    /**
+     * One MCP content item: type and text.
+     */
+    public record Content(String type, String text) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.mcpserver.rpc;
+
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * WireFormat - Encodings accepted and produced for the JSON-RPC envelope on /api/v1/mpc.
+ *
+ * CBOR carries the same data model as JSON, so the decoder and the response types are
+ * shared; only the Jackson factory differs. JSON is the default in both directions.
+ *
+ * @author mcp-server
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Returns the format of a request body: CBOR for {@code application/cbor}, JSON otherwise.
+     */
+    public static WireFormat ofContentType(MediaType contentType) {
+        return contentType != null && CBOR.mediaType.equalsTypeAndSubtype(contentType) ? CBOR : JSON;
+    }
+
+    /**
+     * Picks the response format from the Accept header. The format with the higher quality
+     * wins. On a tie, including no Accept header or a wildcard, the request's format is used.
+     */
+    public static WireFormat negotiate(List<MediaType> accept, WireFormat requestFormat) {
+        if (accept == null || accept.isEmpty()) {
+            return requestFormat;
+        }
+        double json = 0;
+        double cbor = 0;
+        for (MediaType type : accept) {
+            if (type.includes(JSON.mediaType)) {
+                json = Math.max(json, type.getQualityValue());
+            }
+            if (type.includes(CBOR.mediaType)) {
+                cbor = Math.max(cbor, type.getQualityValue());
+            }
+        }
+        if (json == cbor) {
+            return cbor > 0 ? requestFormat : JSON;
+        }
+        return cbor > json ? CBOR : JSON;
+    }
+}
@@ -1,68 +1,222 @@
 package com.example.mcpserver.service;
 
+import com.example.mcpserver.tool.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.Random;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * GameService - Provides game-related tools for MCP
  *
+ * Moves are indexes into {@link #OPTIONS}; each move beats the one before it, so the
+ * outcome of a round is {@code (player - computer + 3) % 3}. Randomness comes from
+ * {@link ThreadLocalRandom}, so concurrent requests never contend on a shared seed.
+ *
  * @author mcp-server
  */
 @Service
 public class GameService {
 
-    private final Random random = new Random();
+    private static final String[] OPTIONS = {"rock", "paper", "scissors"};
+
+    private static final int TIE = 0;
+    private static final int WIN = 1;
+    private static final int LOSS = 2;
+
+    /** Simulation strategies: a move index to always play that move, or one of these. */
+    private static final int STRATEGY_RANDOM = -1;
+    private static final int STRATEGY_CYCLE = -2;
+
+    private static final String[] COMPUTER_CHOSE = texts("Computer chose: ");
+    private static final String[] RANDOM_CHOICE = texts("Random choice: ");
+    private static final String[][] ROUND_RESULTS = roundResults();
+
+    /** Rounds per fork-join leaf; large enough that task overhead is negligible. */
+    private static final int SIMULATION_CHUNK = 1 << 16;
+
+    private final int maxSimulationRounds;
+
+    public GameService(@Value("${mcp.game.max-simulation-rounds:100000000}") int maxSimulationRounds) {
+        this.maxSimulationRounds = maxSimulationRounds;
+    }
 
     @Tool(description = "Play Rock, Paper, Scissors - randomly returns one of the three options")
     public String rockPaperScissors() {
-        String[] options = {"rock", "paper", "scissors"};
-        String result = options[random.nextInt(options.length)];
-        return "Computer chose: " + result;
+        return COMPUTER_CHOSE[randomMove()];
     }
 
     @Tool(description = "Play Rock, Paper, Scissors against a computer - you choose your move")
     public String playRockPaperScissors(@ToolParam(description = "Your choice: rock, paper, or scissors") String playerChoice) {
-        String[] options = {"rock", "paper", "scissors"};
-        String computerChoice = options[random.nextInt(options.length)];
-        
-        // Normalize player choice
-        String normalizedPlayerChoice = playerChoice.toLowerCase().trim();
-        
-        if (!normalizedPlayerChoice.equals("rock") && 
-            !normalizedPlayerChoice.equals("paper") && 
-            !normalizedPlayerChoice.equals("scissors")) {
+        int player = parseMove(playerChoice);
+        if (player < 0) {
             return "Invalid choice! Please choose rock, paper, or scissors.";
         }
-        
-        String result = determineWinner(normalizedPlayerChoice, computerChoice);
-        return String.format("You chose: %s, Computer chose: %s. %s", 
-                           normalizedPlayerChoice, computerChoice, result);
+        return ROUND_RESULTS[player][randomMove()];
     }
 
     @Tool(description = "Get a random choice from Rock, Paper, Scissors")
     public String getRandomChoice() {
-        String[] options = {"rock", "paper", "scissors"};
-        String result = options[random.nextInt(options.length)];
-        return "Random choice: " + result;
+        return RANDOM_CHOICE[randomMove()];
+    }
+
+    @Tool(description = "Simulate many rounds of Rock, Paper, Scissors against a random computer "
+        + "and return aggregated win/loss/tie statistics")
+    public String simulateRockPaperScissors(
+            @ToolParam(description = "Number of rounds to play") int rounds,
+            @ToolParam(description = "Player strategy: random (default), rock, paper, scissors, or cycle",
+                required = false) String strategy) {
+        if (rounds <= 0 || rounds > maxSimulationRounds) {
+            throw new IllegalArgumentException("rounds must be between 1 and " + maxSimulationRounds);
+        }
+        int playerStrategy = parseStrategy(strategy);
+        ToolContext context = ToolContext.current();
+        context.beginProgress(rounds);
+        long[] outcomes = ForkJoinPool.commonPool()
+            .invoke(new SimulationTask(context, new SplittableRandom(), playerStrategy, 0, rounds));
+
+        return String.format(Locale.ROOT,
+            "Rounds: %d, Strategy: %s. Wins: %d (%.2f%%), Losses: %d (%.2f%%), Ties: %d (%.2f%%)",
+            rounds, strategyName(playerStrategy),
+            outcomes[WIN], percent(outcomes[WIN], rounds),
+            outcomes[LOSS], percent(outcomes[LOSS], rounds),
+            outcomes[TIE], percent(outcomes[TIE], rounds));
+    }
+
+    private static int randomMove() {
+        return ThreadLocalRandom.current().nextInt(OPTIONS.length);
+    }
+
+    /**
+     * Returns the move index for a case-insensitive move name, or -1 if it is not a move.
+     */
+    private static int parseMove(String choice) {
+        if (choice == null) {
+            return -1;
+        }
+        String trimmed = choice.trim();
+        for (int i = 0; i < OPTIONS.length; i++) {
+            if (OPTIONS[i].equalsIgnoreCase(trimmed)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseStrategy(String strategy) {
+        String trimmed = strategy == null ? "" : strategy.trim();
+        if (trimmed.isEmpty() || trimmed.equalsIgnoreCase("random")) {
+            return STRATEGY_RANDOM;
+        }
+        if (trimmed.equalsIgnoreCase("cycle")) {
+            return STRATEGY_CYCLE;
+        }
+        int move = parseMove(trimmed);
+        if (move < 0) {
+            throw new IllegalArgumentException("Unknown strategy: " + strategy
+                + " (expected random, rock, paper, scissors, or cycle)");
+        }
+        return move;
+    }
+
+    private static String strategyName(int strategy) {
+        if (strategy == STRATEGY_RANDOM) {
+            return "random";
+        }
+        return strategy == STRATEGY_CYCLE ? "cycle" : OPTIONS[strategy];
+    }
+
+    private static int outcome(int player, int computer) {
+        return (player - computer + OPTIONS.length) % OPTIONS.length;
+    }
+
+    private static double percent(long count, int total) {
+        return count * 100.0 / total;
+    }
+
+    private static String[] texts(String prefix) {
+        String[] texts = new String[OPTIONS.length];
+        for (int i = 0; i < OPTIONS.length; i++) {
+            texts[i] = prefix + OPTIONS[i];
+        }
+        return texts;
+    }
+
+    private static String[][] roundResults() {
+        String[] verdicts = {"It's a tie!", "You win!", "Computer wins!"};
+        String[][] results = new String[OPTIONS.length][OPTIONS.length];
+        for (int player = 0; player < OPTIONS.length; player++) {
+            for (int computer = 0; computer < OPTIONS.length; computer++) {
+                results[player][computer] = String.format("You chose: %s, Computer chose: %s. %s",
+                    OPTIONS[player], OPTIONS[computer], verdicts[outcome(player, computer)]);
+            }
+        }
+        return results;
     }
 
     /**
-     * Determine the winner of a Rock, Paper, Scissors game
+     * Plays rounds [from, to) and returns counts indexed by TIE, WIN and LOSS.
+     * Each subtask gets its own split generator, so leaves never share random state.
+     * Every leaf is a cancellation check and a progress step.
      */
-    private String determineWinner(String playerChoice, String computerChoice) {
-        if (playerChoice.equals(computerChoice)) {
-            return "It's a tie!";
+    private static final class SimulationTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ToolContext context;
+        private final SplittableRandom random;
+        private final int strategy;
+        private final int from;
+        private final int to;
+
+        SimulationTask(ToolContext context, SplittableRandom random, int strategy, int from, int to) {
+            this.context = context;
+            this.random = random;
+            this.strategy = strategy;
+            this.from = from;
+            this.to = to;
         }
-        
-        if ((playerChoice.equals("rock") && computerChoice.equals("scissors")) ||
-            (playerChoice.equals("paper") && computerChoice.equals("rock")) ||
-            (playerChoice.equals("scissors") && computerChoice.equals("paper"))) {
-            return "You win!";
-        } else {
-            return "Computer wins!";
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SIMULATION_CHUNK) {
+                context.checkCancelled();
+                long[] counts = play();
+                context.advance(to - from);
+                return counts;
+            }
+            int mid = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(context, random.split(), strategy, from, mid);
+            SimulationTask right = new SimulationTask(context, random, strategy, mid, to);
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+
+        private long[] play() {
+            long[] counts = new long[3];
+            for (int round = from; round < to; round++) {
+                int player;
+                if (strategy == STRATEGY_RANDOM) {
+                    player = random.nextInt(OPTIONS.length);
+                } else if (strategy == STRATEGY_CYCLE) {
+                    player = round % OPTIONS.length;
+                } else {
+                    player = strategy;
+                }
+                counts[outcome(player, random.nextInt(OPTIONS.length))]++;
+            }
+            return counts;
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,219 @@
+package com.example.mcpserver.service;
+
+import com.example.mcpserver.expression.CompiledExpression;
+import com.example.mcpserver.expression.ExpressionCompiler;
+import com.example.mcpserver.tool.ToolContext;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * TabulationService - Evaluates one expression with named variables over many points for MCP
+ *
+ * The expression is compiled once per call. Points are either a range of one variable,
+ * sampled at evenly spaced values, or arrays of values with one array per variable.
+ * Points are split into fixed-size chunks that are evaluated in parallel on the common
+ * fork-join pool, straight from and into primitive arrays.
+ *
+ * Small results are returned whole. Larger ones can be streamed: each chunk is sent to
+ * the caller's SSE session as soon as it and every chunk before it are done and the
+ * connection has room for it, and only a bounded window of chunks is held in memory at a
+ * time, however many points there are. A chunk that cannot be delivered fails the call.
+ *
+ * @author mcp-server
+ */
+@Service
+public class TabulationService {
+
+    private static final String[] DEFAULT_VARIABLES = {"x"};
+
+    private final int chunkSize;
+    private final int maxInlinePoints;
+    private final int maxPoints;
+
+    public TabulationService(@Value("${mcp.tabulation.chunk-size:8192}") int chunkSize,
+                             @Value("${mcp.tabulation.max-inline-points:100000}") int maxInlinePoints,
+                             @Value("${mcp.tabulation.max-points:10000000}") int maxPoints) {
+        this.chunkSize = Math.max(chunkSize, 256);
+        this.maxInlinePoints = maxInlinePoints;
+        this.maxPoints = maxPoints;
+    }
+
+    @Tool(description = "Evaluate an expression with named variables (supports +, -, *, /, parentheses) at many points: "
+        + "either count evenly spaced values of one variable from start to end, or arrays of values with one array per "
+        + "variable. Returns the results in point order. Large results can be streamed as notifications/tools/chunk "
+        + "messages on the caller's SSE session")
+    public Object tabulate(
+            @ToolParam(description = "Expression over the variables, e.g. x * x / 2 + 3") String expression,
+            @ToolParam(description = "Variable names in the order of values; defaults to [\"x\"]", required = false)
+            String[] variables,
+            @ToolParam(description = "One array of values per variable, all the same length; omit to sample a range",
+                required = false) double[][] values,
+            @ToolParam(description = "First value of the range", required = false) double start,
+            @ToolParam(description = "Last value of the range, inclusive", required = false) double end,
+            @ToolParam(description = "Number of evenly spaced points in the range", required = false) int count,
+            @ToolParam(description = "Stream the results in chunks instead of returning them; requires an "
+                + "Mcp-Session-Id header and a _meta.progressToken", required = false) boolean stream) {
+        String[] names = variables != null ? variables : DEFAULT_VARIABLES;
+        CompiledExpression program = ExpressionCompiler.compile(expression, names);
+        Points points = values != null ? bindings(names, values) : range(names, start, end, count);
+        if (points.size > maxPoints) {
+            throw new IllegalArgumentException("At most " + maxPoints + " points are allowed, got " + points.size);
+        }
+
+        ToolContext context = ToolContext.current();
+        if (stream) {
+            if (!context.canStream()) {
+                throw new IllegalArgumentException(
+                    "Streaming requires an Mcp-Session-Id header with an open SSE session and a _meta.progressToken");
+            }
+            int chunks = streamChunks(context, program, points);
+            return "{\"points\": " + points.size + ", \"chunks\": " + chunks + "}";
+        }
+        if (points.size > maxInlinePoints) {
+            throw new IllegalArgumentException("Results of more than " + maxInlinePoints
+                + " points must be streamed (stream: true), got " + points.size);
+        }
+        double[] out = new double[points.size];
+        context.beginProgress(points.size);
+        evaluateChunks(context, program, points, 0, chunkCount(points.size), out);
+        return out;
+    }
+
+    /**
+     * Evaluates a window of chunks in parallel, sends them in order, and moves to the next
+     * window. Memory stays at one window of results regardless of the number of points.
+     */
+    private int streamChunks(ToolContext context, CompiledExpression program, Points points) {
+        int chunks = chunkCount(points.size);
+        int window = Math.max(2, ForkJoinPool.commonPool().getParallelism() * 2);
+        double[] buffer = new double[Math.min(window, chunks) * chunkSize];
+        context.beginProgress(points.size);
+        for (int first = 0; first < chunks; first += window) {
+            int last = Math.min(chunks, first + window);
+            evaluateChunks(context, program, points, first, last, buffer);
+            for (int chunk = first; chunk < last; chunk++) {
+                int offset = chunk * chunkSize;
+                int from = (chunk - first) * chunkSize;
+                context.emit(offset, buffer, from, from + Math.min(chunkSize, points.size - offset));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Evaluates chunks {@code [first, last)}; chunk {@code first} lands at the start of {@code out}.
+     */
+    private void evaluateChunks(ToolContext context, CompiledExpression program, Points points,
+                                int first, int last, double[] out) {
+        if (first == last) {
+            return;
+        }
+        ChunkTask task = new ChunkTask(context, program, points, chunkSize, first, first, last, out);
+        if (last - first == 1) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    private int chunkCount(int size) {
+        return (int) (((long) size + chunkSize - 1) / chunkSize);
+    }
+
+    private static Points bindings(String[] names, double[][] values) {
+        if (values.length != names.length) {
+            throw new IllegalArgumentException(
+                "Expected one values array per variable (" + names.length + "), got " + values.length);
+        }
+        int size = values.length > 0 ? values[0].length : 0;
+        for (double[] column : values) {
+            if (column.length != size) {
+                throw new IllegalArgumentException("All values arrays must have the same length");
+            }
+        }
+        return new Points(values, 0, 0, size);
+    }
+
+    private static Points range(String[] names, double start, double end, int count) {
+        if (names.length != 1) {
+            throw new IllegalArgumentException("A range binds exactly one variable, got " + names.length);
+        }
+        if (count < 1) {
+            throw new IllegalArgumentException("Either values or a positive count is required");
+        }
+        double step = count > 1 ? (end - start) / (count - 1) : 0;
+        return new Points(null, start, step, count);
+    }
+
+    /**
+     * The points to evaluate: explicit columns, or {@code size} values from {@code start} in
+     * steps of {@code step}. Range values are computed from the index, so they do not
+     * accumulate rounding error.
+     */
+    private record Points(double[][] columns, double start, double step, int size) {
+
+        /**
+         * Evaluates points {@code [from, to)} into {@code out} starting at {@code outOffset}.
+         */
+        void evaluate(CompiledExpression program, int from, int to, double[] out, int outOffset) {
+            if (columns != null) {
+                program.evaluate(columns, from, to, out, outOffset);
+                return;
+            }
+            double[] x = new double[to - from];
+            for (int i = 0; i < x.length; i++) {
+                x[i] = start + (from + i) * step;
+            }
+            program.evaluate(new double[][] {x}, 0, x.length, out, outOffset);
+        }
+    }
+
+    /**
+     * Splits a run of chunks in halves until one chunk is left and evaluates it.
+     */
+    private static final class ChunkTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ToolContext context;
+        private final CompiledExpression program;
+        private final Points points;
+        private final int chunkSize;
+        private final int base;
+        private final int first;
+        private final int last;
+        private final double[] out;
+
+        ChunkTask(ToolContext context, CompiledExpression program, Points points, int chunkSize,
+                  int base, int first, int last, double[] out) {
+            this.context = context;
+            this.program = program;
+            this.points = points;
+            this.chunkSize = chunkSize;
+            this.base = base;
+            this.first = first;
+            this.last = last;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (last - first == 1) {
+                context.checkCancelled();
+                int from = first * chunkSize;
+                int to = Math.min(from + chunkSize, points.size());
+                points.evaluate(program, from, to, out, from - base * chunkSize);
+                context.advance(to - from);
+                return;
+            }
+            int mid = (first + last) >>> 1;
+            invokeAll(new ChunkTask(context, program, points, chunkSize, base, first, mid, out),
+                new ChunkTask(context, program, points, chunkSize, base, mid, last, out));
+        }
+    }
+}
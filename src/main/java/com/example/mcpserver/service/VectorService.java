@@ -0,0 +1,319 @@
+package com.example.mcpserver.service;
+
+import com.example.mcpserver.tool.ToolContext;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * VectorService - Offers element-wise arithmetic and reductions over numeric arrays for MCP
+ *
+ * All work runs over primitive {@code double[]}. Each operation is a plain indexed loop
+ * the JIT can unroll and vectorize. Arrays at or above the parallel threshold are split
+ * into ranges on the common fork-join pool. Reductions keep four independent
+ * accumulators per range, so the loop is not serialized on a single add.
+ *
+ * Split work checks the call's {@link ToolContext} before each range, so a cancelled
+ * call stops within one range, and reports each finished range as progress.
+ *
+ * @author mcp-server
+ */
+@Service
+public class VectorService {
+
+    private static final int ADD = 0;
+    private static final int SUBTRACT = 1;
+    private static final int MULTIPLY = 2;
+    private static final int DIVIDE = 3;
+
+    private static final int SUM = 0;
+    private static final int DOT = 1;
+    private static final int MIN = 2;
+    private static final int MAX = 3;
+
+    private final int parallelThreshold;
+
+    public VectorService(@Value("${mcp.vector.parallel-threshold:65536}") int parallelThreshold) {
+        this.parallelThreshold = Math.max(parallelThreshold, 1024);
+    }
+
+    @Tool(description = "Add two arrays of numbers element by element")
+    public double[] addArrays(@ToolParam(description = "First operand array") double[] a,
+                              @ToolParam(description = "Second operand array, same length as a") double[] b) {
+        return elementwise(ADD, a, b);
+    }
+
+    @Tool(description = "Subtract the second array of numbers from the first, element by element")
+    public double[] subtractArrays(@ToolParam(description = "Minuend array") double[] a,
+                                   @ToolParam(description = "Subtrahend array, same length as a") double[] b) {
+        return elementwise(SUBTRACT, a, b);
+    }
+
+    @Tool(description = "Multiply two arrays of numbers element by element")
+    public double[] multiplyArrays(@ToolParam(description = "First factor array") double[] a,
+                                   @ToolParam(description = "Second factor array, same length as a") double[] b) {
+        return elementwise(MULTIPLY, a, b);
+    }
+
+    @Tool(description = "Divide the first array of numbers by the second, element by element")
+    public double[] divideArrays(@ToolParam(description = "Dividend array") double[] a,
+                                 @ToolParam(description = "Divisor array, same length as a") double[] b) {
+        checkSameLength(a, b);
+        for (double divisor : b) {
+            if (divisor == 0) {
+                throw new IllegalArgumentException("Cannot divide by zero");
+            }
+        }
+        return elementwise(DIVIDE, a, b);
+    }
+
+    @Tool(description = "Return the sum of an array of numbers")
+    public double sumArray(@ToolParam(description = "Values to sum") double[] values) {
+        return reduce(SUM, values, null);
+    }
+
+    @Tool(description = "Return the dot product of two arrays of numbers")
+    public double dotProduct(@ToolParam(description = "First vector") double[] a,
+                             @ToolParam(description = "Second vector, same length as a") double[] b) {
+        checkSameLength(a, b);
+        return reduce(DOT, a, b);
+    }
+
+    @Tool(description = "Return the smallest value in an array of numbers")
+    public double minArray(@ToolParam(description = "Values to search") double[] values) {
+        checkNotEmpty(values);
+        return reduce(MIN, values, null);
+    }
+
+    @Tool(description = "Return the largest value in an array of numbers")
+    public double maxArray(@ToolParam(description = "Values to search") double[] values) {
+        checkNotEmpty(values);
+        return reduce(MAX, values, null);
+    }
+
+    private double[] elementwise(int op, double[] a, double[] b) {
+        checkSameLength(a, b);
+        double[] result = new double[a.length];
+        if (a.length < parallelThreshold) {
+            apply(op, a, b, result, 0, a.length);
+        } else {
+            ToolContext context = ToolContext.current();
+            context.beginProgress(a.length);
+            ForkJoinPool.commonPool().invoke(
+                new ElementwiseTask(context, op, a, b, result, 0, a.length, parallelThreshold));
+        }
+        return result;
+    }
+
+    private double reduce(int op, double[] a, double[] b) {
+        if (a.length < parallelThreshold) {
+            return reduceRange(op, a, b, 0, a.length);
+        }
+        ToolContext context = ToolContext.current();
+        context.beginProgress(a.length);
+        return ForkJoinPool.commonPool().invoke(new ReduceTask(context, op, a, b, 0, a.length, parallelThreshold));
+    }
+
+    /**
+     * One loop per operation, with the operation chosen outside the loop.
+     */
+    private static void apply(int op, double[] a, double[] b, double[] out, int from, int to) {
+        switch (op) {
+            case ADD:
+                for (int i = from; i < to; i++) {
+                    out[i] = a[i] + b[i];
+                }
+                break;
+            case SUBTRACT:
+                for (int i = from; i < to; i++) {
+                    out[i] = a[i] - b[i];
+                }
+                break;
+            case MULTIPLY:
+                for (int i = from; i < to; i++) {
+                    out[i] = a[i] * b[i];
+                }
+                break;
+            case DIVIDE:
+                for (int i = from; i < to; i++) {
+                    out[i] = a[i] / b[i];
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation: " + op);
+        }
+    }
+
+    private static double reduceRange(int op, double[] a, double[] b, int from, int to) {
+        switch (op) {
+            case SUM:
+                return sum(a, from, to);
+            case DOT:
+                return dot(a, b, from, to);
+            case MIN:
+                return min(a, from, to);
+            case MAX:
+                return max(a, from, to);
+            default:
+                throw new IllegalStateException("Unknown reduction: " + op);
+        }
+    }
+
+    private static double combine(int op, double left, double right) {
+        switch (op) {
+            case MIN:
+                return Math.min(left, right);
+            case MAX:
+                return Math.max(left, right);
+            default:
+                return left + right;
+        }
+    }
+
+    private static double sum(double[] a, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double dot(double[] a, double[] b, int from, int to) {
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = from;
+        for (; i + 3 < to; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < to; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    private static double min(double[] a, int from, int to) {
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    private static double max(double[] a, int from, int to) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    private static void checkSameLength(double[] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException(
+                "Arrays must have the same length, got " + a.length + " and " + b.length);
+        }
+    }
+
+    private static void checkNotEmpty(double[] values) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Array must not be empty");
+        }
+    }
+
+    /**
+     * Splits an element-wise operation into ranges no larger than the threshold.
+     */
+    private static final class ElementwiseTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ToolContext context;
+        private final int op;
+        private final double[] a;
+        private final double[] b;
+        private final double[] out;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ElementwiseTask(ToolContext context, int op, double[] a, double[] b, double[] out,
+                        int from, int to, int threshold) {
+            this.context = context;
+            this.op = op;
+            this.a = a;
+            this.b = b;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                context.checkCancelled();
+                apply(op, a, b, out, from, to);
+                context.advance(to - from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ElementwiseTask(context, op, a, b, out, from, mid, threshold),
+                new ElementwiseTask(context, op, a, b, out, mid, to, threshold));
+        }
+    }
+
+    /**
+     * Splits a reduction into ranges no larger than the threshold and combines the partials.
+     */
+    private static final class ReduceTask extends RecursiveTask<Double> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ToolContext context;
+        private final int op;
+        private final double[] a;
+        private final double[] b;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ReduceTask(ToolContext context, int op, double[] a, double[] b, int from, int to, int threshold) {
+            this.context = context;
+            this.op = op;
+            this.a = a;
+            this.b = b;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected Double compute() {
+            if (to - from <= threshold) {
+                context.checkCancelled();
+                double partial = reduceRange(op, a, b, from, to);
+                context.advance(to - from);
+                return partial;
+            }
+            int mid = (from + to) >>> 1;
+            ReduceTask left = new ReduceTask(context, op, a, b, from, mid, threshold);
+            left.fork();
+            double right = new ReduceTask(context, op, a, b, mid, to, threshold).compute();
+            return combine(op, left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.mcpserver.tool;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ArgumentConverter - Converts one raw JSON-RPC argument value to the Java type a tool parameter expects.
+ *
+ * Converters are chosen once per parameter when the tool is registered, so dispatch
+ * does no type inspection beyond the conversion itself.
+ *
+ * @author mcp-server
+ */
+@FunctionalInterface
+public interface ArgumentConverter {
+
+    Object convert(Object raw);
+
+    /**
+     * Returns the converter for a parameter of the given type.
+     *
+     * @param name     parameter name, used in error messages
+     * @param required whether a missing value is an error
+     */
+    static ArgumentConverter forType(Class<?> type, String name, boolean required) {
+        if (type == double.class || type == Double.class) {
+            return raw -> raw == null ? missing(name, required, type, 0.0d) : toNumber(raw, name).doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return raw -> raw == null ? missing(name, required, type, 0.0f) : toNumber(raw, name).floatValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return raw -> raw == null
+                ? missing(name, required, type, 0L)
+                : toIntegral(raw, name, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        if (type == int.class || type == Integer.class) {
+            return raw -> raw == null
+                ? missing(name, required, type, 0)
+                : (int) toIntegral(raw, name, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return raw -> raw == null ? missing(name, required, type, false) : toBoolean(raw);
+        }
+        if (type == String.class) {
+            return raw -> raw == null ? missing(name, required, type, null) : raw instanceof String s ? s : String.valueOf(raw);
+        }
+        if (type == double[].class) {
+            return raw -> raw == null ? missing(name, required, type, null) : toDoubleArray(raw, name);
+        }
+        if (type == double[][].class) {
+            return raw -> raw == null ? missing(name, required, type, null) : toDoubleArrays(raw, name);
+        }
+        if (type == String[].class) {
+            return raw -> raw == null ? missing(name, required, type, null) : toStringArray(raw, name);
+        }
+        if (type.isEnum()) {
+            Map<String, Object> constants = new LinkedHashMap<>();
+            for (Object constant : type.getEnumConstants()) {
+                constants.put(((Enum<?>) constant).name(), constant);
+            }
+            return raw -> raw == null ? missing(name, required, type, null) : toConstant(raw, name, type, constants);
+        }
+        return raw -> {
+            if (raw == null) {
+                return missing(name, required, type, null);
+            }
+            if (!type.isInstance(raw)) {
+                throw new IllegalArgumentException("Argument '" + name + "' must be of type " + type.getSimpleName());
+            }
+            return raw;
+        };
+    }
+
+    private static Number toNumber(Object raw, String name) {
+        if (raw instanceof Number number) {
+            return number;
+        }
+        if (raw instanceof String text) {
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException e) {
+                // fall through to the type error below
+            }
+        }
+        throw new IllegalArgumentException("Argument '" + name + "' must be a number");
+    }
+
+    /**
+     * Accepts only whole numbers within {@code [min, max]}; 2.7 is rejected rather than truncated.
+     */
+    private static long toIntegral(Object raw, String name, long min, long max) {
+        Number number = toNumber(raw, name);
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            long value = number.longValue();
+            if (value >= min && value <= max) {
+                return value;
+            }
+        } else {
+            double value = number.doubleValue();
+            // max + 1.0 is exactly 2^31 or 2^63, where max itself would round up to 2^63 for long
+            if (value == Math.rint(value) && value >= min && value < max + 1.0) {
+                return (long) value;
+            }
+        }
+        throw new IllegalArgumentException("Argument '" + name + "' must be an integer");
+    }
+
+    /**
+     * Looks an enum constant up by its exact name.
+     */
+    private static Object toConstant(Object raw, String name, Class<?> type, Map<String, Object> constants) {
+        if (type.isInstance(raw)) {
+            return raw;
+        }
+        Object constant = raw instanceof String text ? constants.get(text) : null;
+        if (constant == null) {
+            throw new IllegalArgumentException("Argument '" + name + "' must be one of " + constants.keySet());
+        }
+        return constant;
+    }
+
+    private static double[] toDoubleArray(Object raw, String name) {
+        if (raw instanceof double[] values) {
+            return values;
+        }
+        if (raw instanceof List<?> list) {
+            double[] values = new double[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = toNumber(list.get(i), name).doubleValue();
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Argument '" + name + "' must be an array of numbers");
+    }
+
+    private static double[][] toDoubleArrays(Object raw, String name) {
+        if (raw instanceof double[][] rows) {
+            return rows;
+        }
+        if (raw instanceof List<?> list) {
+            double[][] rows = new double[list.size()][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = toDoubleArray(list.get(i), name);
+            }
+            return rows;
+        }
+        throw new IllegalArgumentException("Argument '" + name + "' must be an array of number arrays");
+    }
+
+    private static String[] toStringArray(Object raw, String name) {
+        if (raw instanceof String[] values) {
+            return values;
+        }
+        if (raw instanceof List<?> list) {
+            String[] values = new String[list.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = String.valueOf(list.get(i));
+            }
+            return values;
+        }
+        throw new IllegalArgumentException("Argument '" + name + "' must be an array of strings");
+    }
+
+    private static Boolean toBoolean(Object raw) {
+        return raw instanceof Boolean b ? b : Boolean.valueOf(String.valueOf(raw));
+    }
+
+    private static Object missing(String name, boolean required, Class<?> type, Object primitiveDefault) {
+        if (required) {
+            throw new IllegalArgumentException("Missing required argument: " + name);
+        }
+        return type.isPrimitive() ? primitiveDefault : null;
+    }
+}
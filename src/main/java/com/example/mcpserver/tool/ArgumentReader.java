@@ -0,0 +1,168 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.TreeNode;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * ArgumentReader - Reads one tool argument straight from the JSON token stream.
+ *
+ * The parser is positioned on the first token of the value. A reader must leave it on
+ * the last token of that value even when it fails, so decoding can continue with the
+ * next argument.
+ *
+ * @author mcp-server
+ */
+@FunctionalInterface
+public interface ArgumentReader {
+
+    Object read(JsonParser parser) throws IOException;
+
+    /**
+     * Returns the reader for a parameter of the given type.
+     *
+     * @param name parameter name, used in error messages
+     */
+    static ArgumentReader forType(Class<?> type, String name) {
+        if (type == double.class || type == Double.class) {
+            return parser -> parser.currentToken().isNumeric()
+                ? parser.getDoubleValue()
+                : readNumber(parser, name).doubleValue();
+        }
+        if (type == float.class || type == Float.class) {
+            return parser -> readNumber(parser, name).floatValue();
+        }
+        if (type == long.class || type == Long.class || type == int.class || type == Integer.class) {
+            // The converter applies the whole-number and range checks
+            ArgumentConverter converter = ArgumentConverter.forType(type, name, true);
+            return parser -> converter.convert(readNumber(parser, name));
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return parser -> {
+                JsonToken token = parser.currentToken();
+                if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+                    return token == JsonToken.VALUE_TRUE;
+                }
+                if (token == JsonToken.VALUE_STRING) {
+                    return Boolean.valueOf(parser.getText());
+                }
+                parser.skipChildren();
+                throw new IllegalArgumentException("Argument '" + name + "' must be a boolean");
+            };
+        }
+        if (type == String.class) {
+            return parser -> {
+                JsonToken token = parser.currentToken();
+                if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    throw new IllegalArgumentException("Argument '" + name + "' must be a string");
+                }
+                return parser.getText();
+            };
+        }
+        if (type.isEnum()) {
+            ArgumentConverter converter = ArgumentConverter.forType(type, name, true);
+            return parser -> {
+                if (parser.currentToken().isStructStart()) {
+                    // Consume the whole value; the converter then rejects it like an unknown name
+                    parser.skipChildren();
+                    return converter.convert(parser.currentToken());
+                }
+                return converter.convert(parser.getText());
+            };
+        }
+        if (type == double[].class) {
+            return parser -> readDoubleArray(parser, name);
+        }
+        if (type == double[][].class) {
+            return parser -> readDoubleArrays(parser, name);
+        }
+        return parser -> {
+            // Uncommon types: buffer the value as a tree first so a failed conversion
+            // cannot leave the parser in the middle of the value
+            TreeNode tree = parser.readValueAsTree();
+            try {
+                return parser.getCodec().treeToValue(tree, type);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Argument '" + name + "' must be of type " + type.getSimpleName());
+            }
+        };
+    }
+
+    /**
+     * Reads a JSON array of numbers into a primitive array without boxing the elements.
+     */
+    private static double[] readDoubleArray(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            throw new IllegalArgumentException("Argument '" + name + "' must be an array of numbers");
+        }
+        double[] values = new double[16];
+        int size = 0;
+        boolean valid = true;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token.isNumeric()) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = parser.getDoubleValue();
+            } else {
+                // Keep consuming so the parser ends on this array's END_ARRAY
+                parser.skipChildren();
+                valid = false;
+            }
+        }
+        if (!valid) {
+            throw new IllegalArgumentException("Argument '" + name + "' must be an array of numbers");
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Reads a JSON array of number arrays, each row straight into a primitive array.
+     */
+    private static double[][] readDoubleArrays(JsonParser parser, String name) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            throw new IllegalArgumentException("Argument '" + name + "' must be an array of number arrays");
+        }
+        double[][] rows = new double[4][];
+        int size = 0;
+        IllegalArgumentException failure = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            try {
+                if (size == rows.length) {
+                    rows = Arrays.copyOf(rows, size * 2);
+                }
+                rows[size++] = readDoubleArray(parser, name);
+            } catch (IllegalArgumentException e) {
+                // readDoubleArray leaves the parser at the end of the row; keep consuming
+                failure = new IllegalArgumentException("Argument '" + name + "' must be an array of number arrays");
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return Arrays.copyOf(rows, size);
+    }
+
+    private static Number readNumber(JsonParser parser, String name) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isNumeric()) {
+            return parser.getNumberValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                // fall through to the type error below
+            }
+        }
+        parser.skipChildren();
+        throw new IllegalArgumentException("Argument '" + name + "' must be a number");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.mcpserver.tool;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Deterministic - Marks a {@code @Tool} method whose result depends only on its arguments.
+ *
+ * Only tools carrying this marker have their results cached; tools that use
+ * randomness, time or external state must not be annotated.
+ *
+ * @author mcp-server
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deterministic {
+}
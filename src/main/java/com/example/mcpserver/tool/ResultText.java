@@ -0,0 +1,51 @@
+package com.example.mcpserver.tool;
+
+/**
+ * ResultText - Renders a tool's return value as the text content of a tools/call result.
+ *
+ * Numeric arrays are written as JSON arrays and numbers as JSON numbers; everything else
+ * uses {@code String.valueOf}. JSON has no Infinity or NaN, so non-finite values are
+ * written as {@code null}, keeping the text parseable by any JSON client.
+ *
+ * @author mcp-server
+ */
+public final class ResultText {
+
+    private ResultText() {
+    }
+
+    public static String of(Object result) {
+        if (result instanceof double[] values) {
+            return ofArray(values);
+        }
+        if (result instanceof Double number && !Double.isFinite(number)
+                || result instanceof Float single && !Float.isFinite(single)) {
+            return "null";
+        }
+        return String.valueOf(result);
+    }
+
+    private static String ofArray(double[] values) {
+        return ofRange(values, 0, values.length);
+    }
+
+    /**
+     * Renders {@code values[from, to)} as a JSON array, with {@code null} for non-finite values.
+     */
+    public static String ofRange(double[] values, int from, int to) {
+        // Most doubles print in well under 24 characters, so this rarely regrows
+        StringBuilder sb = new StringBuilder(2 + (to - from) * 24);
+        sb.append('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                sb.append(", ");
+            }
+            if (Double.isFinite(values[i])) {
+                sb.append(values[i]);
+            } else {
+                sb.append("null");
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
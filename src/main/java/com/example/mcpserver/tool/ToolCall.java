@@ -0,0 +1,25 @@
+package com.example.mcpserver.tool;
+
+/**
+ * ToolCall - A tools/call request decoded against its target tool.
+ *
+ * Arguments are already converted to the tool's parameter types, in parameter order.
+ *
+ * @param name          requested tool name
+ * @param tool          the registered tool, or null if no tool has that name
+ * @param arguments     converted arguments, or null if the tool is unknown or decoding failed
+ * @param argumentError why the arguments could not be decoded, or null
+ * @param progressToken the request's _meta.progressToken, or null if no progress was asked for
+ * @author mcp-server
+ */
+public record ToolCall(String name, ToolDefinition tool, Object[] arguments, RuntimeException argumentError,
+                       Object progressToken) {
+
+    /**
+     * Returns true if the call targets a {@link Deterministic} tool with valid arguments,
+     * so its result may be shared between identical calls.
+     */
+    public boolean isDeterministic() {
+        return tool != null && tool.isDeterministic() && argumentError == null;
+    }
+}
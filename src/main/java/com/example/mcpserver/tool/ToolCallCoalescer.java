@@ -0,0 +1,153 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.config.McpServerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * ToolCallCoalescer - Shares one execution between identical concurrent calls to deterministic tools.
+ *
+ * The first call for a {@link ToolCallKey} starts the computation; calls with the same key
+ * that arrive while it runs attach to it and receive the same outcome, value or error.
+ * The entry is removed as soon as the computation terminates, so nothing is retained
+ * afterwards. Keeping results is the job of {@link ToolResultCache}.
+ *
+ * Attached calls are reference-counted: one caller going away leaves the computation
+ * running for the others, and when the last one goes away the computation is cancelled.
+ *
+ * @author mcp-server
+ */
+@Component
+public class ToolCallCoalescer {
+
+    private final boolean enabled;
+    private final Map<ToolCallKey, Flight<?>> flights = new ConcurrentHashMap<>();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final Counter executions;
+    private final Counter coalesced;
+
+    public ToolCallCoalescer(McpServerProperties properties, MeterRegistry registry) {
+        this.enabled = properties.getTools().isCoalesceCalls();
+        this.executions = Counter.builder("mcp.tool.coalescing.executions")
+            .description("Deterministic tool calls that started a computation")
+            .register(registry);
+        this.coalesced = Counter.builder("mcp.tool.coalescing.coalesced")
+            .description("Deterministic tool calls that attached to a computation already in flight")
+            .register(registry);
+        Gauge.builder("mcp.tool.coalescing.in.flight", flights, Map::size)
+            .description("Distinct deterministic tool computations in flight")
+            .register(registry);
+        Gauge.builder("mcp.tool.coalescing.waiters", waiters, AtomicInteger::get)
+            .description("Calls waiting on a shared computation, including the one that started it")
+            .register(registry);
+    }
+
+    /**
+     * Runs the computation for the call, or attaches to an identical one already running.
+     * Calls to non-deterministic tools always run their own computation.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(ToolCall call, Supplier<Mono<T>> computation) {
+        if (!enabled || !call.isDeterministic()) {
+            return Mono.defer(computation);
+        }
+        return Mono.defer(() -> {
+            ToolCallKey key = ToolCallKey.of(call);
+            while (true) {
+                Flight<T> flight = (Flight<T>) flights.computeIfAbsent(key, k -> new Flight<>(k, computation));
+                int attached = flight.attach();
+                if (attached < 0) {
+                    // Lost a race with the last caller cancelling it; the entry is already gone
+                    continue;
+                }
+                (attached == 1 ? executions : coalesced).increment();
+                waiters.incrementAndGet();
+                if (attached == 1) {
+                    flight.start();
+                }
+                return flight.result.asMono().doFinally(signal -> {
+                    waiters.decrementAndGet();
+                    if (signal == SignalType.CANCEL) {
+                        flight.detach();
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * One shared computation, subscribed once; its outcome is replayed to every attached call.
+     */
+    private final class Flight<T> {
+
+        private final ToolCallKey key;
+        private final Supplier<Mono<T>> computation;
+        private final Sinks.One<T> result = Sinks.one();
+        private int attached;
+        private boolean closed;
+        private Disposable subscription;
+
+        Flight(ToolCallKey key, Supplier<Mono<T>> computation) {
+            this.key = key;
+            this.computation = computation;
+        }
+
+        /**
+         * @return the number of calls now attached, or -1 if the flight was cancelled
+         */
+        synchronized int attach() {
+            return closed ? -1 : ++attached;
+        }
+
+        void start() {
+            Disposable started = Mono.defer(computation)
+                .doFinally(signal -> finish())
+                .subscribe(result::tryEmitValue, result::tryEmitError, result::tryEmitEmpty);
+            boolean cancelled;
+            synchronized (this) {
+                subscription = started;
+                cancelled = closed;
+            }
+            if (cancelled) {
+                // Every caller left, or the computation finished, before it could be recorded
+                started.dispose();
+            }
+        }
+
+        /**
+         * Called when an attached call cancels; the last one out cancels the computation.
+         */
+        void detach() {
+            Disposable toCancel;
+            synchronized (this) {
+                if (closed || --attached > 0) {
+                    return;
+                }
+                closed = true;
+                toCancel = subscription;
+            }
+            flights.remove(key, this);
+            if (toCancel != null) {
+                toCancel.dispose();
+            }
+        }
+
+        private void finish() {
+            synchronized (this) {
+                closed = true;
+            }
+            flights.remove(key, this);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.mcpserver.tool;
+
+import java.util.Arrays;
+
+/**
+ * ToolCallKey - Identifies a deterministic tool call by tool name and decoded arguments.
+ *
+ * The arguments are already converted to the parameter types, so {@code 2}, {@code 2.0}
+ * and {@code "2"} for a double parameter produce equal keys. Arrays are compared by value.
+ *
+ * @author mcp-server
+ */
+record ToolCallKey(String tool, Object[] arguments) {
+
+    static ToolCallKey of(ToolCall call) {
+        return new ToolCallKey(call.name(), call.arguments());
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ToolCallKey key
+            && tool.equals(key.tool)
+            && Arrays.deepEquals(arguments, key.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * tool.hashCode() + Arrays.deepHashCode(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return tool + Arrays.deepToString(arguments);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.mcpserver.tool;
+
+/**
+ * ToolCancelledException - Raised inside a tool when its call has been cancelled.
+ *
+ * Thrown by {@link ToolContext#checkCancelled()}; nobody is waiting for the result any more,
+ * so the exception only serves to unwind the tool.
+ *
+ * @author mcp-server
+ */
+public class ToolCancelledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ToolCancelledException() {
+        super("Tool call cancelled", null, false, false);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.mcpserver.tool;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ToolContext - Cancellation token and progress reporter for one running tool call.
+ *
+ * {@link ToolExecutor} binds a context to the worker thread for the duration of the call,
+ * so tool methods reach it through {@link #current()} without an extra parameter. Work
+ * handed to other threads (fork-join subtasks) must capture the context on the calling
+ * thread and check it there. Outside a tool call, {@link #current()} returns a context
+ * that is never cancelled and reports nowhere.
+ *
+ * Cancellation is cooperative: tools call {@link #checkCancelled()} at safe points,
+ * typically once per chunk of work, and the call unwinds with a {@link ToolCancelledException}.
+ *
+ * Tools with very large results can stream them instead of returning them whole: when
+ * {@link #canStream()} is true, {@link #emit} sends each chunk to the caller as it is ready.
+ *
+ * @author mcp-server
+ */
+public final class ToolContext {
+
+    private static final ToolContext NONE = new ToolContext(null, 0);
+    private static final ThreadLocal<ToolContext> CURRENT = new ThreadLocal<>();
+
+    private final ProgressListener listener;
+    private final long reportIntervalNanos;
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong lastReportNanos = new AtomicLong();
+    private volatile long total;
+    private volatile boolean cancelled;
+
+    ToolContext(ProgressListener listener, long reportIntervalNanos) {
+        this.listener = listener;
+        this.reportIntervalNanos = reportIntervalNanos;
+    }
+
+    /**
+     * Returns the context of the tool call running on this thread, or an inert one.
+     */
+    public static ToolContext current() {
+        ToolContext context = CURRENT.get();
+        return context != null ? context : NONE;
+    }
+
+    ToolContext bind() {
+        ToolContext previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void restore(ToolContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Throws if the call has been cancelled. Cheap enough to call once per chunk of work.
+     *
+     * @throws ToolCancelledException if the call has been cancelled
+     */
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new ToolCancelledException();
+        }
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Sets the total amount of work for progress reporting and resets the completed amount.
+     */
+    public void beginProgress(long total) {
+        this.total = total;
+        completed.set(0);
+    }
+
+    /**
+     * Adds completed work and reports progress if the caller asked for it. Safe to call from
+     * several threads; reports are throttled to the configured interval, except the final one.
+     */
+    public void advance(long work) {
+        if (listener == null) {
+            return;
+        }
+        long done = completed.addAndGet(work);
+        long goal = total;
+        long now = System.nanoTime();
+        long last = lastReportNanos.get();
+        boolean finished = goal > 0 && done >= goal;
+        if (finished || (now - last >= reportIntervalNanos && lastReportNanos.compareAndSet(last, now))) {
+            listener.onProgress(done, goal);
+        }
+    }
+
+    /**
+     * Returns true if the caller can receive a streamed result through {@link #emit}.
+     */
+    public boolean canStream() {
+        return listener != null;
+    }
+
+    /**
+     * Sends {@code values[from, to)} as the chunk of the result starting at {@code offset}.
+     * Chunks must be emitted in order, from one thread at a time. Blocks while the caller
+     * is still reading earlier chunks, so a slow reader slows the producer down.
+     *
+     * @throws ToolCancelledException if the call is cancelled, before or while waiting
+     * @throws IllegalStateException  if the chunk could not be delivered: the caller's
+     *                                stream is gone, overflowed, or stopped reading
+     */
+    public void emit(long offset, double[] values, int from, int to) {
+        checkCancelled();
+        if (listener == null
+                || !listener.onChunk(offset, to - from, ResultText.ofRange(values, from, to), this::isCancelled)) {
+            checkCancelled();
+            throw new IllegalStateException("Result stream to the caller was lost after " + offset + " values");
+        }
+    }
+
+    /**
+     * ProgressListener - Receives progress of a tool call, possibly from several threads.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param progress work completed so far
+         * @param total    total work, or 0 if unknown
+         */
+        void onProgress(long progress, long total);
+
+        /**
+         * Receives one chunk of a streamed result, waiting for the caller to catch up if
+         * needed.
+         *
+         * @param offset    index of the chunk's first value in the whole result
+         * @param count     number of values in the chunk
+         * @param values    the values as a JSON array
+         * @param cancelled becomes true if the call is cancelled while waiting
+         * @return false if the chunk could not be delivered
+         */
+        default boolean onChunk(long offset, int count, String values, BooleanSupplier cancelled) {
+            return false;
+        }
+    }
+}
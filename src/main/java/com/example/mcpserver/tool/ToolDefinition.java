@@ -0,0 +1,175 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ToolDefinition - A registered {@code @Tool} method bound to its bean.
+ *
+ * Holds the MCP descriptor served by tools/list and a pre-resolved method handle
+ * spread over an {@code Object[]}, plus one pre-built reader and converter per
+ * parameter, so a call is the argument decoding and one handle invocation.
+ *
+ * @author mcp-server
+ */
+public final class ToolDefinition {
+
+    private final String name;
+    private final String category;
+    private final boolean deterministic;
+    private final String description;
+    private final Map<String, Object> inputSchema;
+    private final Map<String, Object> descriptor;
+    private final String[] parameterNames;
+    private final ArgumentConverter[] converters;
+    private final ArgumentReader[] readers;
+    private final MethodHandle invoker;
+
+    ToolDefinition(String name, String category, boolean deterministic, String description,
+                   Map<String, Object> inputSchema, String[] parameterNames, ArgumentConverter[] converters,
+                   ArgumentReader[] readers, MethodHandle invoker) {
+        this.name = name;
+        this.category = category;
+        this.deterministic = deterministic;
+        this.description = description;
+        this.inputSchema = inputSchema;
+        this.parameterNames = parameterNames;
+        this.converters = converters;
+        this.readers = readers;
+        this.invoker = invoker;
+
+        Map<String, Object> descriptor = new LinkedHashMap<>();
+        descriptor.put("name", name);
+        descriptor.put("description", description);
+        descriptor.put("inputSchema", inputSchema);
+        this.descriptor = Collections.unmodifiableMap(descriptor);
+    }
+
+    /**
+     * Converts already-decoded arguments and invokes the tool method.
+     */
+    public Object invoke(Map<String, Object> arguments) {
+        Object[] args = new Object[converters.length];
+        for (int i = 0; i < converters.length; i++) {
+            args[i] = converters[i].convert(arguments == null ? null : arguments.get(parameterNames[i]));
+        }
+        return invokeWith(args);
+    }
+
+    /**
+     * Reads the arguments object the parser is positioned on directly into parameter
+     * order and types. Unknown members are skipped without being materialized.
+     *
+     * @throws IllegalArgumentException if an argument has the wrong type or a required one is missing;
+     *                                  the parser is still left at the end of the arguments object
+     */
+    public Object[] readArguments(JsonParser parser) throws IOException {
+        Object[] args = new Object[readers.length];
+        IllegalArgumentException failure = null;
+        if (parser.currentToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                int index = indexOf(parser.currentName());
+                JsonToken value = parser.nextToken();
+                if (index < 0 || value == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                try {
+                    args[index] = readers[index].read(parser);
+                } catch (IllegalArgumentException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        } else if (parser.currentToken() != JsonToken.VALUE_NULL) {
+            parser.skipChildren();
+            throw new IllegalArgumentException("Tool arguments must be an object");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return fillMissing(args);
+    }
+
+    /**
+     * Returns the arguments for a call that supplied no arguments object.
+     *
+     * @throws IllegalArgumentException if the tool has required parameters
+     */
+    public Object[] emptyArguments() {
+        return fillMissing(new Object[readers.length]);
+    }
+
+    private Object[] fillMissing(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] == null) {
+                // Applies the default for optional parameters, or fails for required ones
+                args[i] = converters[i].convert(null);
+            }
+        }
+        return args;
+    }
+
+    /**
+     * Invokes the tool method with arguments already in parameter order and types.
+     */
+    public Object invokeWith(Object[] args) {
+        try {
+            return (Object) invoker.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Tool " + name + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private int indexOf(String parameterName) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(parameterName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the MCP tool descriptor: name, description and JSON input schema.
+     */
+    public Map<String, Object> toDescriptor() {
+        return descriptor;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the execution category, derived from the declaring bean class
+     * (e.g. CalculatorService becomes "calculator"). Each category has its own worker pool.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns true if the tool is marked {@link Deterministic}, so its results may be cached.
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Map<String, Object> getInputSchema() {
+        return inputSchema;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.metrics.McpMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ToolExecutor - Runs tool calls off the event loop on bounded, per-category worker pools.
+ *
+ * Each tool category (see {@link ToolDefinition#getCategory()}) gets its own fixed-size
+ * pool with a bounded queue, sized from {@code mcp.tools.pools}. Work beyond the queue
+ * depth fails fast with a {@link java.util.concurrent.RejectedExecutionException} instead
+ * of letting latency grow, and every call is bounded by its tool's timeout.
+ *
+ * Each call runs with its own {@link ToolContext}. When the subscriber cancels (the client
+ * went away or cancelled the request) or the timeout fires, the context is cancelled, so
+ * a queued call never starts and a running one stops at its next cancellation check.
+ * Whatever a cancelled call throws while it stops is discarded, since nobody awaits it.
+ *
+ * @author mcp-server
+ */
+@Component
+public class ToolExecutor {
+
+    private final ToolRegistry toolRegistry;
+    private final McpServerProperties.Tools config;
+    private final McpMetrics metrics;
+    private final Map<String, Scheduler> schedulers = new HashMap<>();
+    private final Map<String, ThreadPoolExecutor> pools = new HashMap<>();
+
+    public ToolExecutor(ToolRegistry toolRegistry, McpServerProperties properties, McpMetrics metrics) {
+        this.toolRegistry = toolRegistry;
+        this.config = properties.getTools();
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    void createPools() {
+        for (ToolDefinition tool : toolRegistry.getTools()) {
+            schedulers.computeIfAbsent(tool.getCategory(), this::createScheduler);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        schedulers.values().forEach(Scheduler::dispose);
+    }
+
+    /**
+     * Invokes the decoded tool call on its category's pool and emits the result text.
+     *
+     * @return a Mono failing with IllegalArgumentException for unknown tools or bad arguments,
+     *         RejectedExecutionException when the pool is saturated, or ToolTimeoutException
+     */
+    public Mono<String> execute(ToolCall call) {
+        return execute(call, null);
+    }
+
+    /**
+     * Like {@link #execute(ToolCall)}, reporting the tool's progress to the listener.
+     *
+     * @param listener receives progress reported through {@link ToolContext#advance(long)}, or null
+     */
+    public Mono<String> execute(ToolCall call, ToolContext.ProgressListener listener) {
+        ToolDefinition tool = call.tool();
+        if (tool == null) {
+            return Mono.error(new IllegalArgumentException("Unknown tool: " + call.name()));
+        }
+        if (call.argumentError() != null) {
+            return Mono.error(call.argumentError());
+        }
+        String name = tool.getName();
+        Object[] arguments = call.arguments();
+        Duration timeout = config.getTimeouts().getOrDefault(name, config.getDefaultTimeout());
+        Scheduler scheduler = schedulers.get(tool.getCategory());
+        long reportInterval = config.getProgressInterval().toNanos();
+        McpMetrics.ToolMeters meters = metrics.forTool(name);
+        return Mono.defer(() -> {
+            long start = meters.start();
+            ToolContext context = new ToolContext(listener, reportInterval);
+            return Mono.fromCallable(() -> invoke(tool, arguments, context))
+                .subscribeOn(scheduler)
+                // Upstream of the timeout, so a timed-out call is cancelled as well
+                .doOnCancel(context::cancel)
+                .timeout(timeout)
+                .onErrorMap(TimeoutException.class, e -> new ToolTimeoutException(name, timeout))
+                .doFinally(signal -> meters.stop(start, signal));
+        });
+    }
+
+    private static String invoke(ToolDefinition tool, Object[] arguments, ToolContext context) {
+        ToolContext previous = context.bind();
+        try {
+            // Cancelled while waiting in the queue
+            context.checkCancelled();
+            return ResultText.of(tool.invokeWith(arguments));
+        } catch (RuntimeException e) {
+            if (context.isCancelled()) {
+                // Timed out or cancelled: nobody is subscribed, so Reactor would only log the
+                // failure as a dropped error
+                return null;
+            }
+            throw e;
+        } finally {
+            ToolContext.restore(previous);
+        }
+    }
+
+    /**
+     * Returns the number of calls waiting for a worker in the given category's pool.
+     */
+    public int getQueueDepth(String category) {
+        ThreadPoolExecutor pool = pools.get(category);
+        return pool == null ? 0 : pool.getQueue().size();
+    }
+
+    private Scheduler createScheduler(String category) {
+        McpServerProperties.Pool pool = config.getPools().getOrDefault(category, config.getDefaultPool());
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("mcp-tool-" + category + "-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            pool.getThreads(),
+            pool.getThreads(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(pool.getQueueCapacity()),
+            threadFactory,
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        pools.put(category, executor);
+        metrics.registerToolQueue(category, executor);
+        return Schedulers.fromExecutorService(executor, "mcp-tool-" + category);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ToolIndex - Build-time list of tool methods with their descriptors, written during AOT processing.
+ *
+ * {@link ToolIndexAotProcessor} stores one entry per {@code @Tool} method, including the
+ * generated JSON input schema. When the application runs with AOT artifacts, {@link ToolRegistry}
+ * reads the index and resolves each method directly, instead of scanning every bean and
+ * reading annotations at boot.
+ *
+ * @author mcp-server
+ */
+final class ToolIndex {
+
+    static final String LOCATION = "META-INF/mcp/tool-index.json";
+
+    private static final TypeReference<List<Entry>> ENTRIES = new TypeReference<>() {
+    };
+
+    private ToolIndex() {
+    }
+
+    /**
+     * Returns the entries of the index on the classpath, or null if there is none.
+     */
+    static List<Entry> read(ObjectMapper objectMapper, ClassLoader classLoader) {
+        try (InputStream in = classLoader.getResourceAsStream(LOCATION)) {
+            return in == null ? null : objectMapper.readValue(in, ENTRIES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read tool index " + LOCATION, e);
+        }
+    }
+
+    static String write(ObjectMapper objectMapper, List<Entry> entries) {
+        try {
+            return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(entries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write tool index", e);
+        }
+    }
+
+    /**
+     * One tool method: where to find it, and everything {@link ToolRegistry} would otherwise
+     * derive from its annotations and parameters.
+     *
+     * @param bean           name of the bean declaring the method
+     * @param method         method name
+     * @param parameterTypes parameter type names, as {@link Class#getTypeName()} returns them
+     */
+    record Entry(String bean, String method, List<String> parameterTypes, String name, String category,
+                 boolean deterministic, String description, List<String> parameterNames,
+                 List<Boolean> required, Map<String, Object> inputSchema) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ToolIndexAotProcessor - Scans the bean definitions for {@code @Tool} methods at build time.
+ *
+ * Writes the {@link ToolIndex} with every tool's descriptor and input schema, and registers
+ * the runtime hints a native image needs: invocation of the tool methods, the index resource,
+ * and binding of the index entries. Registered in {@code META-INF/spring/aot.factories}.
+ *
+ * @author mcp-server
+ */
+class ToolIndexAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        List<ToolRegistry.Discovered> tools = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            if (beanType != null) {
+                tools.addAll(ToolRegistry.discover(beanName, ClassUtils.getUserClass(beanType)));
+            }
+        }
+        if (tools.isEmpty()) {
+            return null;
+        }
+        return (generationContext, code) -> {
+            RuntimeHints hints = generationContext.getRuntimeHints();
+            List<ToolIndex.Entry> entries = new ArrayList<>(tools.size());
+            for (ToolRegistry.Discovered tool : tools) {
+                hints.reflection().registerMethod(tool.method(), ExecutableMode.INVOKE);
+                entries.add(tool.entry());
+            }
+            hints.resources().registerPattern(ToolIndex.LOCATION);
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), ToolIndex.Entry.class);
+            generationContext.getGeneratedFiles().addResourceFile(ToolIndex.LOCATION,
+                ToolIndex.write(new ObjectMapper(), entries));
+        };
+    }
+}
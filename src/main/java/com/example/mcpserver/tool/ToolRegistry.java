@@ -0,0 +1,264 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.aot.AotDetector;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ToolRegistry - Discovers {@code @Tool} methods on application beans and dispatches calls to them.
+ *
+ * Beans are scanned once at startup. Every tool gets a JSON input schema generated
+ * from its parameter types and {@code @ToolParam} descriptions, and a method handle
+ * bound to the bean, so adding a tool bean needs no controller changes.
+ *
+ * When the application runs with AOT-generated artifacts, the scan has already happened
+ * at build time: the {@link ToolIndex} names each tool's bean and method and carries its
+ * schema, so startup only resolves those methods.
+ *
+ * @author mcp-server
+ */
+@Component
+public class ToolRegistry {
+
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    private final ApplicationContext applicationContext;
+
+    private Map<String, ToolDefinition> toolsByName = Map.of();
+    private List<ToolDefinition> tools = List.of();
+
+    public ToolRegistry(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    @PostConstruct
+    void scan() {
+        List<ToolIndex.Entry> index = AotDetector.useGeneratedArtifacts()
+            ? ToolIndex.read(applicationContext.getBeanProvider(ObjectMapper.class).getIfAvailable(ObjectMapper::new),
+                applicationContext.getClassLoader())
+            : null;
+        Map<String, ToolDefinition> byName = new HashMap<>();
+        List<ToolDefinition> ordered = new ArrayList<>();
+        if (index != null) {
+            for (ToolIndex.Entry entry : index) {
+                Object bean = applicationContext.getBean(entry.bean());
+                add(byName, ordered, define(bean, resolve(bean, entry), entry));
+            }
+        } else {
+            for (String beanName : applicationContext.getBeanDefinitionNames()) {
+                Class<?> beanType = applicationContext.getType(beanName, false);
+                if (beanType == null) {
+                    continue;
+                }
+                List<Discovered> discovered = discover(beanName, ClassUtils.getUserClass(beanType));
+                if (discovered.isEmpty()) {
+                    continue;
+                }
+                Object bean = applicationContext.getBean(beanName);
+                for (Discovered tool : discovered) {
+                    add(byName, ordered, define(bean, tool.method(), tool.entry()));
+                }
+            }
+        }
+        this.toolsByName = Map.copyOf(byName);
+        this.tools = Collections.unmodifiableList(ordered);
+    }
+
+    /**
+     * Returns the tool registered under this name, or null.
+     */
+    public ToolDefinition find(String name) {
+        return name == null ? null : toolsByName.get(name);
+    }
+
+    /**
+     * Invokes the named tool with the given raw arguments.
+     *
+     * @throws IllegalArgumentException if no such tool exists or an argument is invalid
+     */
+    public Object invoke(String name, Map<String, Object> arguments) {
+        ToolDefinition tool = find(name);
+        if (tool == null) {
+            throw new IllegalArgumentException("Unknown tool: " + name);
+        }
+        return tool.invoke(arguments);
+    }
+
+    public List<ToolDefinition> getTools() {
+        return tools;
+    }
+
+    /**
+     * Returns the MCP descriptors of all tools, as served by tools/list.
+     */
+    public List<Map<String, Object>> getToolDescriptors() {
+        List<Map<String, Object>> descriptors = new ArrayList<>(tools.size());
+        for (ToolDefinition tool : tools) {
+            descriptors.add(tool.toDescriptor());
+        }
+        return descriptors;
+    }
+
+    private static void add(Map<String, ToolDefinition> byName, List<ToolDefinition> ordered, ToolDefinition tool) {
+        if (byName.putIfAbsent(tool.getName(), tool) != null) {
+            throw new IllegalStateException("Duplicate tool name: " + tool.getName());
+        }
+        ordered.add(tool);
+    }
+
+    /**
+     * Finds the {@code @Tool} methods of a bean type and describes them. Used at startup
+     * and, during AOT processing, to build the {@link ToolIndex}.
+     */
+    static List<Discovered> discover(String beanName, Class<?> userType) {
+        Map<Method, Tool> toolMethods = MethodIntrospector.selectMethods(userType,
+            (MethodIntrospector.MetadataLookup<Tool>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Tool.class));
+        if (toolMethods.isEmpty()) {
+            return List.of();
+        }
+        List<Method> methods = new ArrayList<>(toolMethods.keySet());
+        // Declared-method order is unspecified; sort so tools/list (and its ETag) is stable
+        methods.sort(Comparator.comparing(Method::getName));
+        String category = categoryOf(userType);
+        List<Discovered> discovered = new ArrayList<>(methods.size());
+        for (Method method : methods) {
+            discovered.add(new Discovered(method, describe(beanName, category, method, toolMethods.get(method))));
+        }
+        return discovered;
+    }
+
+    private static ToolIndex.Entry describe(String beanName, String category, Method method, Tool annotation) {
+        String name = annotation.name().isEmpty() ? method.getName() : annotation.name();
+        Parameter[] parameters = method.getParameters();
+        String[] discovered = PARAMETER_NAMES.getParameterNames(method);
+
+        int count = parameters.length;
+        String[] names = new String[count];
+        Class<?>[] types = new Class<?>[count];
+        String[] typeNames = new String[count];
+        String[] descriptions = new String[count];
+        boolean[] required = new boolean[count];
+        Boolean[] requiredFlags = new Boolean[count];
+        for (int i = 0; i < count; i++) {
+            ToolParam toolParam = parameters[i].getAnnotation(ToolParam.class);
+            names[i] = discovered != null ? discovered[i] : parameters[i].getName();
+            types[i] = parameters[i].getType();
+            typeNames[i] = types[i].getTypeName();
+            descriptions[i] = toolParam != null ? toolParam.description() : null;
+            required[i] = toolParam == null || toolParam.required();
+            requiredFlags[i] = required[i];
+        }
+
+        return new ToolIndex.Entry(
+            beanName,
+            method.getName(),
+            List.of(typeNames),
+            name,
+            category,
+            AnnotatedElementUtils.hasAnnotation(method, Deterministic.class),
+            annotation.description(),
+            List.of(names),
+            List.of(requiredFlags),
+            ToolSchemas.objectSchema(names, types, descriptions, required)
+        );
+    }
+
+    private ToolDefinition define(Object bean, Method method, ToolIndex.Entry entry) {
+        Class<?>[] types = method.getParameterTypes();
+        String[] names = entry.parameterNames().toArray(new String[0]);
+        ArgumentConverter[] converters = new ArgumentConverter[types.length];
+        ArgumentReader[] readers = new ArgumentReader[types.length];
+        for (int i = 0; i < types.length; i++) {
+            converters[i] = ArgumentConverter.forType(types[i], names[i], entry.required().get(i));
+            readers[i] = ArgumentReader.forType(types[i], names[i]);
+        }
+
+        return new ToolDefinition(
+            entry.name(),
+            entry.category(),
+            entry.deterministic(),
+            entry.description(),
+            entry.inputSchema(),
+            names,
+            converters,
+            readers,
+            bindInvoker(bean, method)
+        );
+    }
+
+    /**
+     * Looks up the method an index entry names on the bean's class.
+     */
+    private Method resolve(Object bean, ToolIndex.Entry entry) {
+        Class<?>[] types = new Class<?>[entry.parameterTypes().size()];
+        try {
+            for (int i = 0; i < types.length; i++) {
+                types[i] = ClassUtils.forName(entry.parameterTypes().get(i), applicationContext.getClassLoader());
+            }
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Tool index is out of date for tool " + entry.name(), e);
+        }
+        Method method = ReflectionUtils.findMethod(ClassUtils.getUserClass(bean), entry.method(), types);
+        if (method == null) {
+            throw new IllegalStateException("Tool index is out of date: no method " + entry.method()
+                + " on bean " + entry.bean());
+        }
+        return method;
+    }
+
+    /**
+     * Derives the category from the bean class name: the simple name without a
+     * trailing "Service", with a lower-case first letter.
+     */
+    static String categoryOf(Class<?> beanType) {
+        String simpleName = beanType.getSimpleName();
+        if (simpleName.endsWith("Service") && simpleName.length() > "Service".length()) {
+            simpleName = simpleName.substring(0, simpleName.length() - "Service".length());
+        }
+        return Character.toLowerCase(simpleName.charAt(0)) + simpleName.substring(1);
+    }
+
+    /**
+     * Binds the method to its bean and adapts it to the uniform {@code (Object[])Object} shape.
+     */
+    private static MethodHandle bindInvoker(Object bean, Method method) {
+        ReflectionUtils.makeAccessible(method);
+        try {
+            MethodHandle handle = MethodHandles.lookup().unreflect(method).bindTo(bean);
+            return handle
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot access tool method " + method, e);
+        }
+    }
+
+    /**
+     * A {@code @Tool} method found on a bean type, with its description.
+     */
+    record Discovered(Method method, ToolIndex.Entry entry) {
+    }
+}
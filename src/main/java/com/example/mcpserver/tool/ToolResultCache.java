@@ -0,0 +1,85 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.rpc.PreEncodedResponse;
+import com.example.mcpserver.rpc.ToolCallResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * ToolResultCache - Memoizes the encoded results of {@link Deterministic} tool calls.
+ *
+ * Entries are keyed by {@link ToolCallKey} and hold pre-encoded {@code tools/call}
+ * results, so a hit only splices in the request id. Eviction is Caffeine's size-bounded
+ * W-TinyLFU with an optional TTL; hit, miss and eviction statistics are published as
+ * {@code cache.*} meters tagged {@code cache=mcp.tool.results}.
+ *
+ * @author mcp-server
+ */
+@Component
+public class ToolResultCache {
+
+    private final ObjectMapper objectMapper;
+    private final Cache<ToolCallKey, PreEncodedResponse> cache;
+
+    public ToolResultCache(McpServerProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        McpServerProperties.ResultCache config = properties.getTools().getResultCache();
+        if (!config.isEnabled() || config.getMaxSize() <= 0) {
+            this.cache = null;
+            return;
+        }
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+            .maximumSize(config.getMaxSize())
+            .recordStats();
+        if (config.getTtl() != null) {
+            builder.expireAfterWrite(config.getTtl());
+        }
+        this.cache = builder.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "mcp.tool.results");
+    }
+
+    /**
+     * Returns true if results of this call may be cached.
+     */
+    public boolean isCacheable(ToolCall call) {
+        return cache != null && call.isDeterministic();
+    }
+
+    /**
+     * Returns the cached result for the call, or null on a miss or if the call is not cacheable.
+     */
+    public PreEncodedResponse get(ToolCall call) {
+        if (!isCacheable(call)) {
+            return null;
+        }
+        return cache.getIfPresent(ToolCallKey.of(call));
+    }
+
+    /**
+     * Encodes the result text of a completed call, caching it if the call is cacheable.
+     */
+    public PreEncodedResponse put(ToolCall call, String text) {
+        PreEncodedResponse encoded = PreEncodedResponse.of(objectMapper, ToolCallResult.text(text));
+        if (isCacheable(call)) {
+            cache.put(ToolCallKey.of(call), encoded);
+        }
+        return encoded;
+    }
+
+    /**
+     * Returns hit, miss and eviction counts, or empty statistics when caching is disabled.
+     */
+    public CacheStats getStats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+}
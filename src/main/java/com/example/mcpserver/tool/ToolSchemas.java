@@ -0,0 +1,73 @@
+package com.example.mcpserver.tool;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ToolSchemas - Derives JSON Schema fragments for tool input parameters from their Java types.
+ *
+ * @author mcp-server
+ */
+final class ToolSchemas {
+
+    private ToolSchemas() {
+    }
+
+    /**
+     * Builds the object schema for a tool's parameters, keeping declaration order.
+     */
+    static Map<String, Object> objectSchema(String[] names, Class<?>[] types, String[] descriptions, boolean[] required) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> requiredNames = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            Map<String, Object> property = new LinkedHashMap<>(typeSchema(types[i]));
+            if (descriptions[i] != null && !descriptions[i].isEmpty()) {
+                property.put("description", descriptions[i]);
+            }
+            properties.put(names[i], property);
+            if (required[i]) {
+                requiredNames.add(names[i]);
+            }
+        }
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "object");
+        schema.put("properties", properties);
+        schema.put("required", requiredNames);
+        return schema;
+    }
+
+    static Map<String, Object> typeSchema(Class<?> type) {
+        if (type.isEnum()) {
+            List<String> names = new ArrayList<>();
+            for (Object constant : type.getEnumConstants()) {
+                names.add(((Enum<?>) constant).name());
+            }
+            return Map.of("type", "string", "enum", names);
+        }
+        if (type == String.class || type == char.class || type == Character.class) {
+            return Map.of("type", "string");
+        }
+        if (type == double.class || type == Double.class || type == float.class || type == Float.class
+                || type == BigDecimal.class) {
+            return Map.of("type", "number");
+        }
+        if (type == int.class || type == Integer.class || type == long.class || type == Long.class
+                || type == short.class || type == Short.class || type == byte.class || type == Byte.class) {
+            return Map.of("type", "integer");
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Map.of("type", "boolean");
+        }
+        if (type.isArray()) {
+            return Map.of("type", "array", "items", typeSchema(type.getComponentType()));
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            return Map.of("type", "array");
+        }
+        return Map.of("type", "object");
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.mcpserver.tool;
+
+import java.time.Duration;
+
+/**
+ * ToolTimeoutException - Raised when a tool call does not finish within its configured timeout.
+ *
+ * @author mcp-server
+ */
+public class ToolTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ToolTimeoutException(String toolName, Duration timeout) {
+        super("Tool " + toolName + " timed out after " + timeout.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.mcpserver.transport;
+
+/**
+ * SseOverflowPolicy - What to do when a slow client's send buffer is full.
+ *
+ * In both cases the event stays in the session's replay buffer, so a client that
+ * reconnects with {@code Last-Event-ID} can still recover it while it is retained.
+ *
+ * @author mcp-server
+ */
+public enum SseOverflowPolicy {
+
+    /**
+     * Skip live delivery of the event and keep the connection open.
+     */
+    DROP,
+
+    /**
+     * Terminate the connection so the client reconnects and resumes from the replay buffer.
+     */
+    DISCONNECT
+}
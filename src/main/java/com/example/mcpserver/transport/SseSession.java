@@ -0,0 +1,220 @@
+package com.example.mcpserver.transport;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SseSession - Server-to-client event stream for one MCP session.
+ *
+ * A session outlives individual connections: events are retained in a bounded replay
+ * buffer so a client reconnecting with {@code Last-Event-ID} resumes where it left off.
+ * The replay buffer is bounded both in events and in bytes of event data. At most one
+ * connection is attached at a time, and live delivery goes through a bounded send buffer
+ * governed by an {@link SseOverflowPolicy}.
+ *
+ * Producers of large event sequences (streamed tool results) use {@link #awaitCapacity}
+ * to wait until the connection has taken earlier events for writing, so memory per session
+ * stays bounded by a few events instead of the whole send buffer.
+ *
+ * @author mcp-server
+ */
+public final class SseSession {
+
+    private static final ServerSentEvent<String> HEARTBEAT =
+        ServerSentEvent.<String>builder().comment("heartbeat").build();
+
+    private final String id;
+    private final int replayBufferSize;
+    private final long replayBufferBytes;
+    private final int sendBufferSize;
+    private final SseOverflowPolicy overflowPolicy;
+
+    private final ArrayDeque<BufferedEvent> replay;
+    private long replayBytes;
+    private Connection active;
+    private long detachedAtNanos;
+    private long droppedEvents;
+
+    SseSession(String id, int replayBufferSize, long replayBufferBytes, int sendBufferSize,
+               SseOverflowPolicy overflowPolicy) {
+        this.id = id;
+        this.replayBufferSize = replayBufferSize;
+        this.replayBufferBytes = replayBufferBytes;
+        this.sendBufferSize = sendBufferSize;
+        this.overflowPolicy = overflowPolicy;
+        this.replay = new ArrayDeque<>(Math.min(replayBufferSize, 16));
+        this.detachedAtNanos = System.nanoTime();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Attaches a new connection, replacing any previous one, and returns its event stream.
+     * Buffered events with an id greater than {@code lastEventId} are replayed first.
+     */
+    synchronized Flux<ServerSentEvent<String>> connect(long lastEventId) {
+        if (active != null) {
+            active.sink.tryEmitComplete();
+        }
+        Connection connection = new Connection(Sinks.many().unicast()
+            .onBackpressureBuffer(Queues.<ServerSentEvent<String>>get(sendBufferSize).get()));
+        List<ServerSentEvent<String>> backlog = new ArrayList<>();
+        for (BufferedEvent buffered : replay) {
+            if (buffered.id() > lastEventId) {
+                backlog.add(buffered.event());
+            }
+        }
+        active = connection;
+        notifyAll();
+        return Flux.fromIterable(backlog)
+            .concatWith(connection.sink.asFlux().doOnNext(event -> taken(connection)))
+            .doFinally(signal -> detach(connection));
+    }
+
+    /**
+     * Records the event for replay and pushes it to the attached connection, if any.
+     *
+     * @return true if the event was queued on a connection; false if no connection is
+     *         attached or the send buffer overflowed, in which case the event can only be
+     *         recovered by a reconnect, and only while it is still in the replay buffer
+     */
+    synchronized boolean emit(long eventId, String eventName, String data) {
+        ServerSentEvent<String> event = ServerSentEvent.<String>builder()
+            .id(Long.toString(eventId))
+            .event(eventName)
+            .data(data)
+            .build();
+        retain(new BufferedEvent(eventId, event, data.length()));
+        if (active == null) {
+            return false;
+        }
+        // Counted first: the sink may hand the event to the connection before tryEmitNext returns
+        active.queued++;
+        if (active.sink.tryEmitNext(event) != Sinks.EmitResult.OK) {
+            active.queued--;
+            droppedEvents++;
+            if (overflowPolicy == SseOverflowPolicy.DISCONNECT) {
+                active.sink.tryEmitError(new IllegalStateException("SSE send buffer overflow for session " + id));
+                detachNow();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits until the attached connection has fewer than {@code maxQueued} events waiting
+     * to be written.
+     *
+     * @return true once there is room; false if no connection is attached, the wait timed
+     *         out, or {@code abandoned} became true
+     */
+    synchronized boolean awaitCapacity(int maxQueued, long timeoutNanos, BooleanSupplier abandoned)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (active != null && active.queued >= maxQueued) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || abandoned.getAsBoolean()) {
+                return false;
+            }
+            // Woken by every event the connection takes; the cap only bounds how late
+            // an abandoned producer notices
+            wait(Math.max(1, Math.min(remaining / 1_000_000, 100)));
+        }
+        return active != null;
+    }
+
+    /**
+     * Sends a comment line to keep intermediaries from closing an idle connection.
+     * Heartbeats are never replayed and are silently skipped when the send buffer is full.
+     */
+    synchronized void heartbeat() {
+        if (active != null) {
+            active.queued++;
+            if (active.sink.tryEmitNext(HEARTBEAT) != Sinks.EmitResult.OK) {
+                active.queued--;
+            }
+        }
+    }
+
+    synchronized boolean isExpired(long nowNanos, long ttlNanos) {
+        return active == null && nowNanos - detachedAtNanos > ttlNanos;
+    }
+
+    synchronized void close() {
+        if (active != null) {
+            active.sink.tryEmitComplete();
+            detachNow();
+        }
+        replay.clear();
+        replayBytes = 0;
+    }
+
+    public synchronized boolean isConnected() {
+        return active != null;
+    }
+
+    public synchronized long getDroppedEvents() {
+        return droppedEvents;
+    }
+
+    private synchronized void taken(Connection connection) {
+        if (connection.queued > 0) {
+            connection.queued--;
+        }
+        notifyAll();
+    }
+
+    private synchronized void detach(Connection connection) {
+        // A stale connection finishing after a reconnect must not detach its replacement
+        if (active == connection) {
+            detachNow();
+        }
+    }
+
+    private void detachNow() {
+        active = null;
+        detachedAtNanos = System.nanoTime();
+        notifyAll();
+    }
+
+    private void retain(BufferedEvent buffered) {
+        if (buffered.size() > replayBufferBytes) {
+            return;
+        }
+        replay.addLast(buffered);
+        replayBytes += buffered.size();
+        while (replay.size() > replayBufferSize || replayBytes > replayBufferBytes) {
+            replayBytes -= replay.removeFirst().size();
+        }
+    }
+
+    /**
+     * One attached connection and the number of events queued on it but not yet taken
+     * for writing.
+     */
+    private static final class Connection {
+
+        final Sinks.Many<ServerSentEvent<String>> sink;
+        int queued;
+
+        Connection(Sinks.Many<ServerSentEvent<String>> sink) {
+            this.sink = sink;
+        }
+    }
+
+    /**
+     * @param size length of the event data in chars, counted against the replay byte budget
+     */
+    private record BufferedEvent(long id, ServerSentEvent<String> event, long size) {
+    }
+}
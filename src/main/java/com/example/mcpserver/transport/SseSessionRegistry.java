@@ -0,0 +1,146 @@
+package com.example.mcpserver.transport;
+
+import com.example.mcpserver.config.McpServerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * SseSessionRegistry - Owns all streamable-HTTP SSE sessions on /api/v1/mpc.
+ *
+ * Event ids come from one process-wide counter so they are monotonic across sessions.
+ * A single periodic sweep sends heartbeats to connected sessions and evicts sessions
+ * that have been detached for longer than the configured TTL, so idle connections
+ * cost a sink and a small buffer rather than a timer or a thread each.
+ *
+ * @author mcp-server
+ */
+@Component
+public class SseSessionRegistry {
+
+    private final Map<String, SseSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong eventIdCounter = new AtomicLong(0);
+    private final McpServerProperties.Sse config;
+
+    private Disposable sweeper;
+
+    public SseSessionRegistry(McpServerProperties properties) {
+        this.config = properties.getSse();
+    }
+
+    @PostConstruct
+    public void start() {
+        sweeper = Flux.interval(config.getHeartbeatInterval()).subscribe(tick -> sweep());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+        sessions.values().forEach(SseSession::close);
+        sessions.clear();
+    }
+
+    /**
+     * Returns the live session with this id, or null if it is unknown or has expired.
+     */
+    public SseSession find(String sessionId) {
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    /**
+     * Creates a new session, or returns null when the session limit has been reached.
+     */
+    public SseSession create() {
+        if (sessions.size() >= config.getMaxSessions()) {
+            return null;
+        }
+        SseSession session = new SseSession(
+            UUID.randomUUID().toString(),
+            config.getReplayBufferSize(),
+            config.getReplayBufferBytes().toBytes(),
+            config.getSendBufferSize(),
+            config.getOverflowPolicy()
+        );
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Attaches a connection to the session, replaying buffered events newer than {@code lastEventId}.
+     */
+    public Flux<ServerSentEvent<String>> connect(SseSession session, long lastEventId) {
+        return session.connect(lastEventId);
+    }
+
+    /**
+     * Publishes an event to a session. Returns false if the session does not exist, has no
+     * connection attached, or the connection's send buffer overflowed; the event was then
+     * not delivered live and survives only in the replay buffer, if it fits there.
+     */
+    public boolean send(String sessionId, String eventName, String data) {
+        SseSession session = find(sessionId);
+        return session != null && session.emit(eventIdCounter.incrementAndGet(), eventName, data);
+    }
+
+    /**
+     * Publishes one event of a long sequence, such as a streamed tool result, after waiting
+     * until the connection has fewer than {@code stream-window} events waiting to be written.
+     * Returns false, without sending, if the session or its connection is gone, the client
+     * did not catch up within {@code stream-send-timeout}, or {@code abandoned} became true.
+     */
+    public boolean sendWhenReady(String sessionId, String eventName, String data, BooleanSupplier abandoned) {
+        SseSession session = find(sessionId);
+        if (session == null) {
+            return false;
+        }
+        try {
+            if (!session.awaitCapacity(config.getStreamWindow(), config.getStreamSendTimeout().toNanos(), abandoned)) {
+                return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return session.emit(eventIdCounter.incrementAndGet(), eventName, data);
+    }
+
+    /**
+     * Terminates a session and its connection. Returns false if the session does not exist.
+     */
+    public boolean close(String sessionId) {
+        SseSession session = sessionId == null ? null : sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.close();
+        return true;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private void sweep() {
+        long now = System.nanoTime();
+        long ttlNanos = config.getSessionTtl().toNanos();
+        sessions.values().removeIf(session -> {
+            if (session.isExpired(now, ttlNanos)) {
+                session.close();
+                return true;
+            }
+            session.heartbeat();
+            return false;
+        });
+    }
+}
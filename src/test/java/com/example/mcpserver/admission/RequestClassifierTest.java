@@ -0,0 +1,65 @@
+package com.example.mcpserver.admission;
+
+import com.example.mcpserver.config.McpServerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestClassifierTest {
+
+    private final RequestClassifier classifier = new RequestClassifier(List.of("ping", "initialize"));
+
+    @Test
+    void matchesTheTopLevelMethod() {
+        assertThat(isPriority("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}")).isTrue();
+        assertThat(isPriority(" {\n  \"method\" : \"initialize\", \"params\": {}}")).isTrue();
+        assertThat(isPriority("{\"params\":{\"a\":[1,{\"b\":\"}\"}]},\"method\":\"ping\"}")).isTrue();
+        assertThat(isPriority("{\"method\":\"tools/call\"}")).isFalse();
+        assertThat(isPriority("{\"method\":\"pingx\"}")).isFalse();
+    }
+
+    @Test
+    void ignoresMethodKeysInNestedValues() {
+        assertThat(isPriority("{\"params\":{\"method\":\"ping\"},\"method\":\"tools/call\"}")).isFalse();
+        assertThat(isPriority("{\"params\":[{\"method\":\"ping\"}],\"method\":\"tools/call\"}")).isFalse();
+        assertThat(isPriority("{\"params\":{\"method\":\"ping\"}}")).isFalse();
+        // A string value that looks like a member
+        assertThat(isPriority("{\"id\":\"\\\",\\\"method\\\":\\\"ping\",\"method\":\"tools/call\"}")).isFalse();
+    }
+
+    @Test
+    void rejectsAnythingTheDecoderMightReadDifferently() {
+        assertThat(isPriority("[{\"method\":\"ping\"}]")).isFalse();
+        assertThat(isPriority("{\"method\":\"ping\",\"method\":\"tools/call\"}")).isFalse();
+        assertThat(isPriority("{\"method\":\"ping\",\"\\u006dethod\":\"tools/call\"}")).isFalse();
+        assertThat(isPriority("{\"method\":\"p\\u0069ng\"}")).isFalse();
+        assertThat(isPriority("{\"method\":[\"ping\"]}")).isFalse();
+        assertThat(isPriority("{\"method\":\"ping")).isFalse();
+        assertThat(isPriority("")).isFalse();
+    }
+
+    @Test
+    void priorityMethodsCountAgainstTheRateLimit() {
+        McpServerProperties properties = new McpServerProperties();
+        properties.getAdmission().setClientRate(0.001);
+        properties.getAdmission().setClientBurst(2);
+        AdmissionControl admission = new AdmissionControl(properties, new SimpleMeterRegistry());
+        byte[] ping = "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}".getBytes(StandardCharsets.UTF_8);
+
+        for (int i = 0; i < 2; i++) {
+            AdmissionControl.Permit permit = admission.tryAcquire("client", ping);
+            assertThat(permit.isAdmitted()).isTrue();
+            permit.release();
+        }
+        assertThat(admission.tryAcquire("client", ping).getOutcome())
+            .isEqualTo(AdmissionControl.Outcome.RATE_LIMITED);
+    }
+
+    private boolean isPriority(String body) {
+        return classifier.isPriority(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.mcpserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "mcp.journal.enabled=false")
+class BatchTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void answersInRequestOrder() throws Exception {
+        JsonNode responses = post("""
+            [{"jsonrpc":"2.0","id":"slow","method":"tools/call",
+              "params":{"name":"simulateRockPaperScissors","arguments":{"rounds":200000}}},
+             {"jsonrpc":"2.0","id":2,"method":"ping"},
+             {"jsonrpc":"2.0","id":3,"method":"tools/call","params":{"name":"add","arguments":{"a":1,"b":2}}},
+             {"jsonrpc":"2.0","id":4,"method":"nope"}]""");
+
+        assertThat(ids(responses)).containsExactly("slow", "2", "3", "4");
+        assertThat(responses.get(2).at("/result/content/0/text").asText()).isEqualTo("3.0");
+        assertThat(responses.get(3).at("/error/code").asInt()).isEqualTo(-32601);
+    }
+
+    @Test
+    void notificationsGetNoEntry() throws Exception {
+        JsonNode responses = post("""
+            [{"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":99}},
+             {"jsonrpc":"2.0","id":1,"method":"ping"},
+             {"jsonrpc":"2.0","method":"tools/call","params":{"name":"add","arguments":{"a":1,"b":2}}}]""");
+
+        assertThat(ids(responses)).containsExactly("1");
+    }
+
+    @Test
+    void notificationOnlyBatchGetsNoBody() {
+        client.post()
+            .uri("/api/v1/mpc")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("""
+                [{"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":99}},
+                 {"jsonrpc":"2.0","method":"tools/call","params":{"name":"add","arguments":{"a":1,"b":2}}}]""")
+            .exchange()
+            .expectStatus().isAccepted()
+            .expectBody().isEmpty();
+    }
+
+    @Test
+    void invalidEntriesGetErrorsInPlace() throws Exception {
+        JsonNode responses = post("[1, {\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"ping\"}, {\"id\":3}]");
+
+        assertThat(responses).hasSize(3);
+        assertThat(responses.get(0).at("/error/code").asInt()).isEqualTo(-32600);
+        assertThat(responses.get(0).get("id").isNull()).isTrue();
+        assertThat(responses.get(1).get("result")).isNotNull();
+        assertThat(responses.get(2).at("/error/code").asInt()).isEqualTo(-32600);
+    }
+
+    @Test
+    void invalidArgumentsGetInvalidParams() throws Exception {
+        JsonNode responses = post("""
+            [{"jsonrpc":"2.0","id":1,"method":"tools/call",
+              "params":{"name":"simulateRockPaperScissors","arguments":{"rounds":2.5}}},
+             {"jsonrpc":"2.0","id":2,"method":"tools/call","params":{"name":"add","arguments":{"a":"abc","b":1}}}]""");
+
+        assertThat(responses.get(0).at("/error/code").asInt()).isEqualTo(-32602);
+        assertThat(responses.get(0).at("/error/message").asText())
+            .isEqualTo("Invalid params: Argument 'rounds' must be an integer");
+        assertThat(responses.get(1).at("/error/code").asInt()).isEqualTo(-32602);
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() throws Exception {
+        assertThat(post("[]").at("/error/code").asInt()).isEqualTo(-32600);
+
+        String oversized = IntStream.range(0, 51)
+            .mapToObj(i -> "{\"jsonrpc\":\"2.0\",\"id\":" + i + ",\"method\":\"ping\"}")
+            .collect(Collectors.joining(",", "[", "]"));
+        JsonNode response = post(oversized);
+        assertThat(response.at("/error/code").asInt()).isEqualTo(-32600);
+        assertThat(response.at("/error/message").asText()).contains("exceeds limit of 50");
+    }
+
+    private JsonNode post(String body) throws Exception {
+        byte[] response = client.post()
+            .uri("/api/v1/mpc")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().returnResult().getResponseBody();
+        return JSON.readTree(response);
+    }
+
+    private static List<String> ids(JsonNode responses) {
+        List<String> ids = new ArrayList<>();
+        responses.forEach(response -> ids.add(response.get("id").asText()));
+        return ids;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.mcpserver.controller;
+
+import com.example.mcpserver.tool.ToolContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"mcp.journal.enabled=false", "mcp.tools.pools.spin.threads=1"})
+@ExtendWith(OutputCaptureExtension.class)
+class CancellationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void notificationsCancelledStopsTheRunningTool(CapturedOutput output) throws Exception {
+        CompletableFuture<String> call = WebClient.create("http://localhost:" + port).post()
+            .uri("/api/v1/mpc")
+            .header("X-Client-Id", "cancelling-client")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"jsonrpc\":\"2.0\",\"id\":\"c1\",\"method\":\"tools/call\",\"params\":{\"name\":\"spin\"}}")
+            .retrieve()
+            .bodyToMono(String.class)
+            .toFuture();
+        assertThat(SpinService.started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Same id from another client must not reach it
+        cancel("other-client");
+        assertThat(SpinService.stopped.getCount()).isEqualTo(1);
+
+        cancel("cancelling-client");
+
+        assertThat(call.get(10, TimeUnit.SECONDS))
+            .contains("\"id\":\"c1\"")
+            .contains("\"code\":-32800");
+        assertThat(SpinService.stopped.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // The single spin worker only picks this up once the cancelled call has unwound
+        client.post()
+            .uri("/api/v1/mpc")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"jsonrpc\":\"2.0\",\"id\":\"c2\",\"method\":\"tools/call\",\"params\":{\"name\":\"ready\"}}")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(String.class).value(body -> assertThat(body).contains("ready"));
+        // The tool's cancellation is not an error worth logging
+        assertThat(output).doesNotContain("ERROR");
+    }
+
+    private void cancel(String clientId) {
+        client.post()
+            .uri("/api/v1/mpc")
+            .header("X-Client-Id", clientId)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/cancelled\",\"params\":{\"requestId\":\"c1\"}}")
+            .exchange()
+            .expectStatus().isAccepted()
+            .expectBody().isEmpty();
+    }
+
+    @TestConfiguration
+    static class Tools {
+
+        @Bean
+        SpinService spinService() {
+            return new SpinService();
+        }
+    }
+
+    /**
+     * A tool that runs until its call is cancelled.
+     */
+    public static class SpinService {
+
+        static final CountDownLatch started = new CountDownLatch(1);
+        static final CountDownLatch stopped = new CountDownLatch(1);
+
+        @Tool(description = "Runs until cancelled")
+        public String spin() throws InterruptedException {
+            started.countDown();
+            try {
+                while (true) {
+                    ToolContext.current().checkCancelled();
+                    Thread.sleep(10);
+                }
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        @Tool(description = "Returns straight away")
+        public String ready() {
+            return "ready";
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.mcpserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "mcp.journal.enabled=false")
+class CborTransportTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final CBORMapper CBOR = new CBORMapper();
+
+    private static final Map<String, Object> ADD_ARRAYS = Map.of(
+        "jsonrpc", "2.0",
+        "id", 5,
+        "method", "tools/call",
+        "params", Map.of("name", "addArrays", "arguments", Map.of("a", List.of(1.5, 2.0), "b", List.of(0.5, -2.0))));
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void cborRequestGetsACborResponse() throws Exception {
+        EntityExchangeResult<byte[]> result = post(CBOR.writeValueAsBytes(ADD_ARRAYS), MediaType.APPLICATION_CBOR, null);
+
+        assertThat(result.getResponseHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode response = CBOR.readTree(result.getResponseBody());
+        assertThat(response.get("id").asInt()).isEqualTo(5);
+        assertThat(response.at("/result/content/0/text").asText()).isEqualTo("[2.0, 0.0]");
+    }
+
+    @Test
+    void cborAndJsonCarryTheSameResponse() throws Exception {
+        JsonNode viaCbor = CBOR.readTree(
+            post(CBOR.writeValueAsBytes(ADD_ARRAYS), MediaType.APPLICATION_CBOR, null).getResponseBody());
+        JsonNode viaJson = JSON.readTree(
+            post(JSON.writeValueAsBytes(ADD_ARRAYS), MediaType.APPLICATION_JSON, null).getResponseBody());
+
+        assertThat(viaCbor).isEqualTo(viaJson);
+    }
+
+    @Test
+    void acceptHeaderPicksTheResponseFormat() throws Exception {
+        EntityExchangeResult<byte[]> cborAnswer =
+            post(JSON.writeValueAsBytes(ADD_ARRAYS), MediaType.APPLICATION_JSON, "application/cbor");
+        assertThat(cborAnswer.getResponseHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        assertThat(CBOR.readTree(cborAnswer.getResponseBody()).get("id").asInt()).isEqualTo(5);
+
+        EntityExchangeResult<byte[]> jsonAnswer =
+            post(CBOR.writeValueAsBytes(ADD_ARRAYS), MediaType.APPLICATION_CBOR, "application/json");
+        assertThat(jsonAnswer.getResponseHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(JSON.readTree(jsonAnswer.getResponseBody()).get("id").asInt()).isEqualTo(5);
+    }
+
+    @Test
+    void staticResponsesHonourTheFormat() throws Exception {
+        byte[] body = CBOR.writeValueAsBytes(Map.of("jsonrpc", "2.0", "id", "t", "method", "tools/list"));
+        EntityExchangeResult<byte[]> result = post(body, MediaType.APPLICATION_CBOR, null);
+
+        assertThat(result.getResponseHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_CBOR);
+        JsonNode response = CBOR.readTree(result.getResponseBody());
+        assertThat(response.get("id").asText()).isEqualTo("t");
+        assertThat(response.at("/result/tools").size()).isPositive();
+    }
+
+    @Test
+    void malformedCborIsAParseError() throws Exception {
+        byte[] truncated = CBOR.writeValueAsBytes(ADD_ARRAYS);
+        truncated = Arrays.copyOf(truncated, truncated.length / 2);
+
+        JsonNode response = CBOR.readTree(post(truncated, MediaType.APPLICATION_CBOR, null).getResponseBody());
+        assertThat(response.at("/error/code").asInt()).isEqualTo(-32700);
+    }
+
+    private EntityExchangeResult<byte[]> post(byte[] body, MediaType contentType, String accept) {
+        return client.post()
+            .uri("/api/v1/mpc")
+            .contentType(contentType)
+            .headers(headers -> {
+                if (accept != null) {
+                    headers.set(HttpHeaders.ACCEPT, accept);
+                }
+            })
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(byte[].class)
+            .returnResult();
+    }
+}
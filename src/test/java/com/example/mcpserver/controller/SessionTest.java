@@ -0,0 +1,57 @@
+package com.example.mcpserver.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "mcp.journal.enabled=false")
+class SessionTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Test
+    void unknownSessionIdsGetNotFound() {
+        client.get()
+            .uri("/api/v1/mpc")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Mcp-Session-Id", "no-such-session")
+            .exchange()
+            .expectStatus().isNotFound();
+        client.get()
+            .uri("/api/v1/mpc?sessionId=no-such-session")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void closedSessionsCannotBeResumed() {
+        FluxExchangeResult<String> opened = client.get()
+            .uri("/api/v1/mpc")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .exchange()
+            .returnResult(String.class);
+        assertThat(opened.getStatus()).isEqualTo(HttpStatus.OK);
+        String sessionId = opened.getResponseHeaders().getFirst("Mcp-Session-Id");
+        assertThat(sessionId).isNotNull();
+
+        client.delete()
+            .uri("/api/v1/mpc")
+            .header("Mcp-Session-Id", sessionId)
+            .exchange()
+            .expectStatus().isNoContent();
+        client.get()
+            .uri("/api/v1/mpc")
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .header("Mcp-Session-Id", sessionId)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+}
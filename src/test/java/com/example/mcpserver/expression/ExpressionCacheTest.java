@@ -0,0 +1,50 @@
+package com.example.mcpserver.expression;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ExpressionCacheTest {
+
+    @Test
+    void repeatedExpressionsHitTheCache() {
+        ExpressionCache cache = new ExpressionCache(4);
+        CompiledExpression first = cache.getOrCompile("1 + 2");
+
+        assertThat(cache.getOrCompile("1 + 2")).isSameAs(first);
+        assertThat(cache.getOrCompile("1+2")).isNotSameAs(first);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(first.evaluate()).isEqualTo(3.0);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedExpression() {
+        ExpressionCache cache = new ExpressionCache(2);
+        CompiledExpression a = cache.getOrCompile("1");
+        CompiledExpression b = cache.getOrCompile("2");
+        cache.getOrCompile("1");
+        cache.getOrCompile("3");
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getOrCompile("1")).isSameAs(a);
+        assertThat(cache.getOrCompile("2")).isNotSameAs(b);
+    }
+
+    @Test
+    void sizeZeroDisablesCaching() {
+        ExpressionCache cache = new ExpressionCache(0);
+
+        assertThat(cache.getOrCompile("1 + 2")).isNotSameAs(cache.getOrCompile("1 + 2"));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void invalidExpressionsAreNotCached() {
+        ExpressionCache cache = new ExpressionCache(4);
+
+        assertThatIllegalArgumentException().isThrownBy(() -> cache.getOrCompile("1 +"));
+        assertThat(cache.size()).isZero();
+        assertThatIllegalArgumentException().isThrownBy(() -> new ExpressionCache(-1));
+    }
+}
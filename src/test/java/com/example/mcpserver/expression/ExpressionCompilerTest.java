@@ -0,0 +1,97 @@
+package com.example.mcpserver.expression;
+
+import com.example.mcpserver.service.CalculatorService;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ExpressionCompilerTest {
+
+    @Test
+    void multiplicationBindsTighterThanAddition() {
+        assertThat(evaluate("2 + 3 * 4")).isEqualTo(14.0);
+        assertThat(evaluate("2 * 3 + 4")).isEqualTo(10.0);
+        assertThat(evaluate("1 + 2 * 3 - 4 / 2")).isEqualTo(5.0);
+        assertThat(evaluate("(2 + 3) * 4")).isEqualTo(20.0);
+    }
+
+    @Test
+    void sameLevelOperatorsAssociateLeft() {
+        assertThat(evaluate("10 - 4 - 3")).isEqualTo(3.0);
+        assertThat(evaluate("8 / 4 / 2")).isEqualTo(1.0);
+        assertThat(evaluate("2 * 3 / 4")).isEqualTo(1.5);
+        assertThat(evaluate("10 - (4 - 3)")).isEqualTo(9.0);
+    }
+
+    @Test
+    void unarySignsBindTightest() {
+        assertThat(evaluate("-2 * 3")).isEqualTo(-6.0);
+        assertThat(evaluate("2 - -3")).isEqualTo(5.0);
+        assertThat(evaluate("-(2 + 3) * 2")).isEqualTo(-10.0);
+        assertThat(evaluate("+4 / -2")).isEqualTo(-2.0);
+    }
+
+    @Test
+    void variablesTakeTheirSlotValues() {
+        CompiledExpression program = ExpressionCompiler.compile("x * x + y / 2", "x", "y");
+        assertThat(program.evaluate(3, 4)).isEqualTo(11.0);
+        assertThat(program.evaluate(-1, 0)).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        for (String malformed : new String[] {"", "  ", "2 +", "(1", "1)", "1 2", "* 3", "z"}) {
+            assertThatIllegalArgumentException().as(malformed).isThrownBy(() -> ExpressionCompiler.compile(malformed));
+        }
+    }
+
+    @Test
+    void acceptsNestingUpToTheLimit() {
+        int levels = ExpressionCompiler.MAX_NESTING;
+        assertThat(ExpressionCompiler.compile("(".repeat(levels) + "1" + ")".repeat(levels)).evaluate())
+            .isEqualTo(1.0);
+        assertThat(ExpressionCompiler.compile("-".repeat(levels) + "1").evaluate()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsDeeplyNestedParentheses() {
+        int levels = 100_000;
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ExpressionCompiler.compile("(".repeat(levels) + "1" + ")".repeat(levels)))
+            .withMessageContaining("nested too deeply");
+    }
+
+    @Test
+    void rejectsLongRunsOfUnarySigns() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ExpressionCompiler.compile("-".repeat(100_000) + "1"))
+            .withMessageContaining("nested too deeply");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> ExpressionCompiler.compile("+-".repeat(50_000) + "1"))
+            .withMessageContaining("nested too deeply");
+    }
+
+    @Test
+    void countsNestingNotLength() {
+        // A long flat expression is not nested at all
+        String flat = "1" + " + 1".repeat(100_000);
+        assertThat(ExpressionCompiler.compile(flat).evaluate()).isEqualTo(100_001.0);
+        // Closed groups do not add up
+        String siblings = "(1)" + " + (1)".repeat(ExpressionCompiler.MAX_NESTING * 4);
+        assertThat(ExpressionCompiler.compile(siblings).evaluate()).isEqualTo(ExpressionCompiler.MAX_NESTING * 4 + 1.0);
+    }
+
+    @Test
+    void calculateReportsDeepNestingAsInvalidInput() {
+        CalculatorService calculator = new CalculatorService(16);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> calculator.calculate("-".repeat(100_000) + "1"))
+            .withMessageStartingWith("Invalid input for calculation")
+            .withMessageContaining("nested too deeply");
+    }
+
+    private static double evaluate(String expression) {
+        return ExpressionCompiler.compile(expression).evaluate();
+    }
+}
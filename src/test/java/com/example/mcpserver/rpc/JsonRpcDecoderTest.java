@@ -0,0 +1,144 @@
+package com.example.mcpserver.rpc;
+
+import com.example.mcpserver.service.CalculatorService;
+import com.example.mcpserver.service.GameService;
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonRpcDecoderTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static JsonRpcDecoder decoder;
+
+    @BeforeAll
+    static void startContext() {
+        context = new AnnotationConfigApplicationContext(CalculatorService.class, GameService.class,
+            ToolRegistry.class);
+        decoder = new JsonRpcDecoder(new ObjectMapper(), context.getBean(ToolRegistry.class));
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void decodesArgumentsIntoParameterTypes() {
+        JsonRpcRequest request = single("""
+            {"jsonrpc":"2.0","id":7,"method":"tools/call",
+             "params":{"name":"add","arguments":{"b":"2.5","ignored":{"x":[1]},"a":1},"_meta":{"progressToken":"p"}}}""");
+
+        assertThat(request.error()).isNull();
+        assertThat(request.id()).isEqualTo(7);
+        assertThat(request.notification()).isFalse();
+        ToolCall call = request.toolCall();
+        assertThat(call.tool().getName()).isEqualTo("add");
+        assertThat(call.arguments()).containsExactly(1.0, 2.5);
+        assertThat(call.argumentError()).isNull();
+        assertThat(call.progressToken()).isEqualTo("p");
+    }
+
+    @Test
+    void replaysMembersThatArriveEarly() {
+        JsonRpcRequest request = single("""
+            {"params":{"arguments":{"a":4,"b":5},"name":"multiply"},"method":"tools/call","id":"x"}""");
+
+        assertThat(request.toolCall().tool().getName()).isEqualTo("multiply");
+        assertThat(request.toolCall().arguments()).containsExactly(4.0, 5.0);
+    }
+
+    @Test
+    void reportsArgumentConversionErrorsOnTheCall() {
+        ToolCall wrongType = single("""
+            {"id":1,"method":"tools/call","params":{"name":"add","arguments":{"a":"abc","b":1}}}""").toolCall();
+        assertThat(wrongType.tool()).isNotNull();
+        assertThat(wrongType.arguments()).isNull();
+        assertThat(wrongType.argumentError()).isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Argument 'a' must be a number");
+
+        ToolCall missing = single("""
+            {"id":1,"method":"tools/call","params":{"name":"add","arguments":{"a":1}}}""").toolCall();
+        assertThat(missing.argumentError()).hasMessage("Missing required argument: b");
+
+        ToolCall notAnObject = single("""
+            {"id":1,"method":"tools/call","params":{"arguments":[1,2],"name":"add"}}""").toolCall();
+        assertThat(notAnObject.argumentError()).hasMessage("Tool arguments must be an object");
+    }
+
+    @Test
+    void rejectsFractionalIntegers() {
+        ToolCall whole = single("""
+            {"id":1,"method":"tools/call","params":{"name":"simulateRockPaperScissors","arguments":{"rounds":3.0}}}""")
+            .toolCall();
+        assertThat(whole.arguments()).containsExactly(3, null);
+
+        ToolCall fractional = single("""
+            {"id":1,"method":"tools/call","params":{"name":"simulateRockPaperScissors","arguments":{"rounds":2.7}}}""")
+            .toolCall();
+        assertThat(fractional.argumentError()).hasMessage("Argument 'rounds' must be an integer");
+
+        ToolCall tooLarge = single("""
+            {"id":1,"method":"tools/call","params":{"name":"simulateRockPaperScissors","arguments":{"rounds":4294967296}}}""")
+            .toolCall();
+        assertThat(tooLarge.argumentError()).hasMessage("Argument 'rounds' must be an integer");
+    }
+
+    @Test
+    void leavesUnknownToolsToDispatch() {
+        ToolCall call = single("""
+            {"id":1,"method":"tools/call","params":{"name":"nope","arguments":{"a":1}}}""").toolCall();
+
+        assertThat(call.name()).isEqualTo("nope");
+        assertThat(call.tool()).isNull();
+        assertThat(call.argumentError()).isNull();
+    }
+
+    @Test
+    void keepsTheIdOfACancelledRequest() {
+        JsonRpcRequest request = single("""
+            {"jsonrpc":"2.0","method":"notifications/cancelled","params":{"requestId":"abc","reason":"gone"}}""");
+
+        assertThat(request.notification()).isTrue();
+        assertThat(request.cancelledId()).isEqualTo("abc");
+    }
+
+    @Test
+    void answersMalformedRequestsWithErrors() {
+        assertThat(single("{\"id\":1,").error().code()).isEqualTo(JsonRpcError.PARSE_ERROR);
+        assertThat(single("").error().code()).isEqualTo(JsonRpcError.PARSE_ERROR);
+        assertThat(single("{\"id\":{},\"method\":\"ping\"}").error().code()).isEqualTo(JsonRpcError.INVALID_REQUEST);
+        assertThat(single("{\"id\":1}").error().code()).isEqualTo(JsonRpcError.INVALID_REQUEST);
+        assertThat(single("42").error().code()).isEqualTo(JsonRpcError.INVALID_REQUEST);
+    }
+
+    @Test
+    void decodesBatchEntriesInOrder() {
+        JsonRpcPayload payload = decoder.decode(bytes("""
+            [{"id":1,"method":"ping"},7,{"method":"notifications/initialized"}]"""));
+
+        assertThat(payload.batch()).isTrue();
+        assertThat(payload.requests()).hasSize(3);
+        assertThat(payload.requests().get(0).method()).isEqualTo("ping");
+        assertThat(payload.requests().get(1).error().code()).isEqualTo(JsonRpcError.INVALID_REQUEST);
+        assertThat(payload.requests().get(2).notification()).isTrue();
+    }
+
+    private static JsonRpcRequest single(String body) {
+        JsonRpcPayload payload = decoder.decode(bytes(body));
+        assertThat(payload.batch()).isFalse();
+        return payload.single();
+    }
+
+    private static byte[] bytes(String body) {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+}
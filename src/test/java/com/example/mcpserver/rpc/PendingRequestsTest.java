@@ -0,0 +1,69 @@
+package com.example.mcpserver.rpc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PendingRequestsTest {
+
+    private final PendingRequests pending = new PendingRequests(new SimpleMeterRegistry());
+
+    private final Sinks.One<String> result = Sinks.one();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final Mono<String> handling = result.asMono().doOnCancel(() -> cancelled.set(true));
+
+    @Test
+    void cancelCompletesTheRequestEmptyAndCancelsUpstream() {
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicReference<String> value = new AtomicReference<>();
+        pending.track("client", 1, handling).doOnSuccess(v -> completed.set(true)).subscribe(value::set);
+        assertThat(pending.size()).isEqualTo(1);
+
+        assertThat(pending.cancel("client", 1)).isTrue();
+
+        assertThat(cancelled).isTrue();
+        assertThat(completed).isTrue();
+        assertThat(value.get()).isNull();
+        assertThat(pending.size()).isZero();
+        assertThat(pending.cancel("client", 1)).isFalse();
+    }
+
+    @Test
+    void idsAreScopedPerClient() {
+        pending.track("a", "x", handling).subscribe();
+
+        assertThat(pending.cancel("b", "x")).isFalse();
+        assertThat(pending.cancel("a", "y")).isFalse();
+        assertThat(cancelled).isFalse();
+        assertThat(pending.cancel("a", "x")).isTrue();
+    }
+
+    @Test
+    void completedRequestsAreForgotten() {
+        AtomicReference<String> value = new AtomicReference<>();
+        pending.track("client", 1, handling).subscribe(value::set);
+        result.tryEmitValue("done");
+
+        assertThat(value).hasValue("done");
+        assertThat(pending.size()).isZero();
+        assertThat(pending.cancel("client", 1)).isFalse();
+    }
+
+    @Test
+    void requestsWithoutIdsOrWithADuplicateIdRunUntracked() {
+        pending.track("client", null, Mono.never()).subscribe();
+        assertThat(pending.size()).isZero();
+
+        pending.track("client", 1, Mono.never()).subscribe();
+        pending.track("client", 1, handling).subscribe();
+        assertThat(pending.size()).isEqualTo(1);
+        assertThat(pending.cancel("client", 1)).isTrue();
+        assertThat(cancelled).isFalse();
+    }
+}
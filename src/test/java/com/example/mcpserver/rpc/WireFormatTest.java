@@ -0,0 +1,48 @@
+package com.example.mcpserver.rpc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WireFormatTest {
+
+    @Test
+    void requestFormatFollowsTheContentType() {
+        assertThat(WireFormat.ofContentType(MediaType.APPLICATION_CBOR)).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.ofContentType(MediaType.APPLICATION_JSON)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.ofContentType(MediaType.TEXT_PLAIN)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.ofContentType(null)).isEqualTo(WireFormat.JSON);
+    }
+
+    @Test
+    void responseFormatDefaultsToTheRequestFormat() {
+        assertThat(WireFormat.negotiate(null, WireFormat.CBOR)).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate(List.of(), WireFormat.JSON)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate(accept("*/*"), WireFormat.CBOR)).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate(accept("application/*"), WireFormat.JSON)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate(accept("application/json, application/cbor"), WireFormat.CBOR))
+            .isEqualTo(WireFormat.CBOR);
+    }
+
+    @Test
+    void higherQualityWins() {
+        assertThat(WireFormat.negotiate(accept("application/cbor"), WireFormat.JSON)).isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate(accept("application/json"), WireFormat.CBOR)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate(accept("application/json;q=0.5, application/cbor"), WireFormat.JSON))
+            .isEqualTo(WireFormat.CBOR);
+        assertThat(WireFormat.negotiate(accept("application/cbor;q=0.1, */*;q=0.5"), WireFormat.CBOR))
+            .isEqualTo(WireFormat.CBOR);
+    }
+
+    @Test
+    void fallsBackToJsonWhenNeitherIsAcceptable() {
+        assertThat(WireFormat.negotiate(accept("text/html"), WireFormat.CBOR)).isEqualTo(WireFormat.JSON);
+    }
+
+    private static List<MediaType> accept(String header) {
+        return MediaType.parseMediaTypes(header);
+    }
+}
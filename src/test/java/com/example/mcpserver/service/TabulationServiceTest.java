@@ -0,0 +1,185 @@
+package com.example.mcpserver.service;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.metrics.McpMetrics;
+import com.example.mcpserver.rpc.RawJson;
+import com.example.mcpserver.tool.ToolCall;
+import com.example.mcpserver.tool.ToolContext;
+import com.example.mcpserver.tool.ToolExecutor;
+import com.example.mcpserver.tool.ToolRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class TabulationServiceTest {
+
+    private static final int CHUNK_SIZE = 256;
+    private static final int MAX_INLINE_POINTS = 1000;
+    private static final int MAX_POINTS = 5000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private static AnnotationConfigApplicationContext context;
+    private static ToolRegistry registry;
+    private static ToolExecutor executor;
+
+    @BeforeAll
+    static void startContext() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(McpServerProperties.class);
+        context.registerBean(SimpleMeterRegistry.class);
+        context.registerBean(TabulationService.class,
+            () -> new TabulationService(CHUNK_SIZE, MAX_INLINE_POINTS, MAX_POINTS));
+        context.register(ToolRegistry.class, McpMetrics.class, ToolExecutor.class);
+        context.refresh();
+        registry = context.getBean(ToolRegistry.class);
+        executor = context.getBean(ToolExecutor.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void returnsResultsInlineUpToTheLimit() throws Exception {
+        String text = executor.execute(range("x * 2", 0, MAX_INLINE_POINTS - 1, MAX_INLINE_POINTS, false))
+            .block(TIMEOUT);
+
+        double[] values = new ObjectMapper().readValue(text, double[].class);
+        assertThat(values).hasSize(MAX_INLINE_POINTS);
+        assertThat(values[0]).isEqualTo(0.0);
+        assertThat(values[MAX_INLINE_POINTS - 1]).isEqualTo(2.0 * (MAX_INLINE_POINTS - 1));
+    }
+
+    @Test
+    void requiresStreamingAboveTheInlineLimit() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> executor.execute(range("x", 0, 1, MAX_INLINE_POINTS + 1, false)).block(TIMEOUT))
+            .withMessage("Results of more than " + MAX_INLINE_POINTS + " points must be streamed (stream: true), got "
+                + (MAX_INLINE_POINTS + 1));
+    }
+
+    @Test
+    void streamingNeedsASessionToStreamTo() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> executor.execute(range("x", 0, 1, 10, true)).block(TIMEOUT))
+            .withMessageStartingWith("Streaming requires");
+    }
+
+    @Test
+    void streamsChunksInOrderAboveTheInlineLimit() throws Exception {
+        int count = MAX_POINTS;
+        Chunks chunks = new Chunks(true);
+
+        String text = executor.execute(range("x + 1", 0, count - 1, count, true), chunks).block(TIMEOUT);
+
+        int expectedChunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        assertThat(text).isEqualTo("{\"points\": " + count + ", \"chunks\": " + expectedChunks + "}");
+        assertThat(chunks.offsets).hasSize(expectedChunks);
+        long next = 0;
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < chunks.offsets.size(); i++) {
+            assertThat(chunks.offsets.get(i)).isEqualTo(next);
+            double[] values = objectMapper.readValue(chunks.values.get(i), double[].class);
+            assertThat(values).hasSize(chunks.counts.get(i));
+            assertThat(values[0]).isEqualTo(next + 1.0);
+            next += values.length;
+        }
+        assertThat(next).isEqualTo(count);
+    }
+
+    @Test
+    void streamsNonFinitePointsAsNull() throws Exception {
+        Chunks chunks = new Chunks(true);
+
+        // 1e308 * 10 overflows to Infinity, and Infinity - Infinity is NaN
+        double[][] values = {{1, 1e308, 2, 1e308}, {0, 0, 0, Double.POSITIVE_INFINITY}};
+        executor.execute(points("x * 10 - y", new String[] {"x", "y"}, values, true), chunks).block(TIMEOUT);
+
+        assertThat(chunks.values).containsExactly("[10.0, null, 20.0, null]");
+        byte[] json = chunks.values.get(0).getBytes(StandardCharsets.UTF_8);
+        assertThat(new ObjectMapper().readTree(json).get(3).isNull()).isTrue();
+        // The chunk is spliced into the notification as raw JSON and transcoded for CBOR sessions
+        JsonNode cbor = new CBORMapper().readTree(new RawJson(json).toCbor());
+        assertThat(cbor.size()).isEqualTo(4);
+        assertThat(cbor.get(1).isNull()).isTrue();
+        assertThat(cbor.get(2).asDouble()).isEqualTo(20.0);
+    }
+
+    @Test
+    void returnsNonFinitePointsAsNullInline() throws Exception {
+        double[][] values = {{1, -1e308}};
+        String text = executor.execute(points("x * 10", new String[] {"x"}, values, false)).block(TIMEOUT);
+
+        assertThat(text).isEqualTo("[10.0, null]");
+        assertThat(new ObjectMapper().readTree(text).get(1).isNull()).isTrue();
+    }
+
+    @Test
+    void rejectsMoreThanTheMaximumEvenWhenStreamed() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> executor.execute(range("x", 0, 1, MAX_POINTS + 1, true), new Chunks(true)).block(TIMEOUT))
+            .withMessage("At most " + MAX_POINTS + " points are allowed, got " + (MAX_POINTS + 1));
+    }
+
+    @Test
+    void failsWhenAChunkCannotBeDelivered() {
+        assertThatIllegalStateException()
+            .isThrownBy(() -> executor.execute(range("x", 0, 1, MAX_POINTS, true), new Chunks(false)).block(TIMEOUT))
+            .withMessage("Result stream to the caller was lost after 0 values");
+    }
+
+    private static ToolCall range(String expression, double start, double end, int count, boolean stream) {
+        Object[] arguments = {expression, null, null, start, end, count, stream};
+        return new ToolCall("tabulate", registry.find("tabulate"), arguments, null, "token");
+    }
+
+    private static ToolCall points(String expression, String[] variables, double[][] values, boolean stream) {
+        Object[] arguments = {expression, variables, values, 0.0, 0.0, 0, stream};
+        return new ToolCall("tabulate", registry.find("tabulate"), arguments, null, "token");
+    }
+
+    /**
+     * Collects streamed chunks, or refuses them like a caller whose stream is gone.
+     */
+    private static final class Chunks implements ToolContext.ProgressListener {
+
+        final List<Long> offsets = new ArrayList<>();
+        final List<Integer> counts = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        private final boolean deliver;
+
+        Chunks(boolean deliver) {
+            this.deliver = deliver;
+        }
+
+        @Override
+        public void onProgress(long progress, long total) {
+        }
+
+        @Override
+        public synchronized boolean onChunk(long offset, int count, String values, BooleanSupplier cancelled) {
+            if (deliver) {
+                offsets.add(offset);
+                counts.add(count);
+                this.values.add(values);
+            }
+            return deliver;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultTextTest {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    @Test
+    void writesArraysAsJson() {
+        assertThat(ResultText.of(new double[] {1.5, -2.0, 0.0})).isEqualTo("[1.5, -2.0, 0.0]");
+        assertThat(ResultText.of(new double[0])).isEqualTo("[]");
+        assertThat(ResultText.ofRange(new double[] {1, 2, 3, 4}, 1, 3)).isEqualTo("[2.0, 3.0]");
+    }
+
+    @Test
+    void writesNonFiniteElementsAsNull() throws Exception {
+        String text = ResultText.of(new double[] {1.0, Double.POSITIVE_INFINITY, Double.NaN, Double.NEGATIVE_INFINITY});
+
+        assertThat(text).isEqualTo("[1.0, null, null, null]");
+        JsonNode parsed = JSON.readTree(text);
+        assertThat(parsed.get(0).asDouble()).isEqualTo(1.0);
+        assertThat(parsed.get(1).isNull()).isTrue();
+    }
+
+    @Test
+    void writesNonFiniteNumbersAsNull() {
+        assertThat(ResultText.of(Double.POSITIVE_INFINITY)).isEqualTo("null");
+        assertThat(ResultText.of(Double.NaN)).isEqualTo("null");
+        assertThat(ResultText.of(Float.NEGATIVE_INFINITY)).isEqualTo("null");
+        assertThat(ResultText.of(2.5)).isEqualTo("2.5");
+        assertThat(ResultText.of("text")).isEqualTo("text");
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.service.CalculatorService;
+import com.example.mcpserver.service.GameService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ToolCallCoalescerTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static ToolRegistry registry;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final ToolCallCoalescer coalescer = new ToolCallCoalescer(new McpServerProperties(), meters);
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final Sinks.One<String> result = Sinks.one();
+
+    @BeforeAll
+    static void startContext() {
+        context = new AnnotationConfigApplicationContext(CalculatorService.class, GameService.class, ToolRegistry.class);
+        registry = context.getBean(ToolRegistry.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void identicalCallsShareOneExecution() {
+        List<String> received = new CopyOnWriteArrayList<>();
+        coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe(received::add);
+        coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe(received::add);
+
+        assertThat(executions).hasValue(1);
+        result.tryEmitValue("3.0");
+        assertThat(received).containsExactly("3.0", "3.0");
+        assertThat(meters.get("mcp.tool.coalescing.executions").counter().count()).isEqualTo(1.0);
+        assertThat(meters.get("mcp.tool.coalescing.coalesced").counter().count()).isEqualTo(1.0);
+        assertThat(meters.get("mcp.tool.coalescing.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void errorsAreSharedToo() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        coalescer.execute(call("divide", 1.0, 0.0), this::computation).subscribe(value -> { }, errors::add);
+        coalescer.execute(call("divide", 1.0, 0.0), this::computation).subscribe(value -> { }, errors::add);
+
+        IllegalArgumentException failure = new IllegalArgumentException("Cannot divide by zero");
+        result.tryEmitError(failure);
+        assertThat(executions).hasValue(1);
+        assertThat(errors).containsExactly(failure, failure);
+    }
+
+    @Test
+    void differentArgumentsRunSeparately() {
+        coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+        coalescer.execute(call("add", 2.0, 1.0), this::computation).subscribe();
+        coalescer.execute(call("subtract", 1.0, 2.0), this::computation).subscribe();
+
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    void nonDeterministicToolsAreNeverShared() {
+        coalescer.execute(call("rockPaperScissors"), this::computation).subscribe();
+        coalescer.execute(call("rockPaperScissors"), this::computation).subscribe();
+
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void nothingIsKeptAfterTheExecutionEnds() {
+        AtomicReference<String> first = new AtomicReference<>();
+        coalescer.execute(call("add", 1.0, 2.0), () -> Mono.just("3.0").doOnSubscribe(s -> executions.incrementAndGet()))
+            .subscribe(first::set);
+        coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+
+        assertThat(first).hasValue("3.0");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void onlyTheLastCallerLeavingCancelsTheExecution() {
+        Disposable first = coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+        AtomicReference<String> second = new AtomicReference<>();
+        Disposable secondSubscription = coalescer.execute(call("add", 1.0, 2.0), this::computation)
+            .subscribe(second::set);
+
+        first.dispose();
+        assertThat(cancelled).isFalse();
+        secondSubscription.dispose();
+        assertThat(cancelled).isTrue();
+
+        // The next identical call starts over
+        coalescer.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+        assertThat(executions).hasValue(2);
+        assertThat(second.get()).isNull();
+    }
+
+    @Test
+    void disabledCoalescingRunsEveryCall() {
+        McpServerProperties properties = new McpServerProperties();
+        properties.getTools().setCoalesceCalls(false);
+        ToolCallCoalescer disabled = new ToolCallCoalescer(properties, new SimpleMeterRegistry());
+
+        disabled.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+        disabled.execute(call("add", 1.0, 2.0), this::computation).subscribe();
+
+        assertThat(executions).hasValue(2);
+    }
+
+    private Mono<String> computation() {
+        return result.asMono()
+            .doOnSubscribe(subscription -> executions.incrementAndGet())
+            .doOnCancel(() -> cancelled.set(true));
+    }
+
+    private static ToolCall call(String name, Object... arguments) {
+        return new ToolCall(name, registry.find(name), arguments, null, null);
+    }
+}
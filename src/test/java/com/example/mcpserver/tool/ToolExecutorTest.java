@@ -0,0 +1,143 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.config.McpServerProperties;
+import com.example.mcpserver.metrics.McpMetrics;
+import com.example.mcpserver.service.CalculatorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ToolExecutorTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static ToolRegistry registry;
+    private static ToolExecutor executor;
+
+    @BeforeAll
+    static void startContext() {
+        McpServerProperties properties = new McpServerProperties();
+        McpServerProperties.Pool pool = new McpServerProperties.Pool();
+        pool.setThreads(1);
+        pool.setQueueCapacity(1);
+        properties.getTools().getPools().put("blocking", pool);
+        properties.getTools().getTimeouts().put("awaitBriefly", Duration.ofMillis(200));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(McpServerProperties.class, () -> properties);
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(BlockingService.class, CalculatorService.class, ToolRegistry.class, McpMetrics.class,
+            ToolExecutor.class);
+        context.refresh();
+        registry = context.getBean(ToolRegistry.class);
+        executor = context.getBean(ToolExecutor.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @BeforeEach
+    void closeGate() {
+        BlockingService.started = new CountDownLatch(1);
+        BlockingService.gate = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void openGate() {
+        BlockingService.gate.countDown();
+    }
+
+    @Test
+    void appliesThePerToolTimeout() {
+        assertThatExceptionOfType(ToolTimeoutException.class)
+            .isThrownBy(() -> executor.execute(call("awaitBriefly")).block(Duration.ofSeconds(5)))
+            .withMessage("Tool awaitBriefly timed out after 200 ms");
+    }
+
+    @Test
+    void discardsTheFailureOfATimedOutCall(CapturedOutput output) {
+        assertThatExceptionOfType(ToolTimeoutException.class)
+            .isThrownBy(() -> executor.execute(call("awaitBriefly")).block(Duration.ofSeconds(5)));
+
+        // The single worker only picks this up once the interrupted call has unwound
+        BlockingService.gate.countDown();
+        assertThat(executor.execute(call("await")).block(Duration.ofSeconds(5))).isEqualTo("released");
+        assertThat(output).doesNotContain("ERROR");
+    }
+
+    @Test
+    void rejectsCallsBeyondTheQueueOfTheirPool() throws InterruptedException {
+        Mono<String> running = executor.execute(call("await")).cache();
+        running.subscribe();
+        assertThat(BlockingService.started.await(5, TimeUnit.SECONDS)).isTrue();
+        Mono<String> queued = executor.execute(call("await")).cache();
+        queued.subscribe();
+        assertThat(executor.getQueueDepth("blocking")).isEqualTo(1);
+
+        assertThatExceptionOfType(RejectedExecutionException.class)
+            .isThrownBy(() -> executor.execute(call("await")).block(Duration.ofSeconds(5)));
+        // Other categories run on their own pools
+        assertThat(executor.execute(call("add", 2.0, 3.0)).block(Duration.ofSeconds(5))).isEqualTo("5.0");
+
+        BlockingService.gate.countDown();
+        assertThat(running.block(Duration.ofSeconds(5))).isEqualTo("released");
+        assertThat(queued.block(Duration.ofSeconds(5))).isEqualTo("released");
+    }
+
+    @Test
+    void failsUnknownToolsAndBadArguments() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> executor.execute(new ToolCall("nope", null, null, null, null)).block())
+            .withMessage("Unknown tool: nope");
+        IllegalArgumentException argumentError = new IllegalArgumentException("Argument 'a' must be a number");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> executor.execute(new ToolCall("add", registry.find("add"), null, argumentError, null))
+                .block())
+            .isSameAs(argumentError);
+    }
+
+    private static ToolCall call(String name, Object... arguments) {
+        return new ToolCall(name, registry.find(name), arguments, null, null);
+    }
+
+    /**
+     * Tools that hold their worker until the test opens the gate.
+     */
+    public static class BlockingService {
+
+        static volatile CountDownLatch started;
+        static volatile CountDownLatch gate;
+
+        @Tool(description = "Waits for the gate")
+        public String await() throws InterruptedException {
+            started.countDown();
+            gate.await();
+            return "released";
+        }
+
+        @Tool(description = "Waits for the gate, with a short timeout")
+        public String awaitBriefly() throws InterruptedException {
+            return await();
+        }
+    }
+}
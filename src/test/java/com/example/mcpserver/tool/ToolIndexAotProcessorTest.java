@@ -0,0 +1,91 @@
+package com.example.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.generate.ClassNameGenerator;
+import org.springframework.aot.generate.DefaultGenerationContext;
+import org.springframework.aot.generate.GeneratedFiles;
+import org.springframework.aot.generate.InMemoryGeneratedFiles;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.javapoet.ClassName;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ToolIndexAotProcessorTest {
+
+    @Test
+    void indexMatchesDiscoveryForEveryToolBean() throws IOException {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        new ClassPathBeanDefinitionScanner(beanFactory).scan("com.example.mcpserver");
+
+        List<ToolRegistry.Discovered> discovered = new ArrayList<>();
+        List<String> toolBeans = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            Class<?> beanType = beanFactory.getType(beanName, false);
+            List<ToolRegistry.Discovered> tools = beanType == null
+                ? List.of() : ToolRegistry.discover(beanName, ClassUtils.getUserClass(beanType));
+            if (!tools.isEmpty()) {
+                toolBeans.add(beanName);
+                discovered.addAll(tools);
+            }
+        }
+        assertThat(toolBeans).contains("calculatorService", "gameService", "vectorService", "tabulationService");
+
+        InMemoryGeneratedFiles files = new InMemoryGeneratedFiles();
+        DefaultGenerationContext context =
+            new DefaultGenerationContext(new ClassNameGenerator(ClassName.get("com.example", "Test")), files);
+        BeanFactoryInitializationAotContribution contribution =
+            new ToolIndexAotProcessor().processAheadOfTime(beanFactory);
+        assertThat(contribution).isNotNull();
+        contribution.applyTo(context, mock(BeanFactoryInitializationCode.class));
+
+        String json = files.getGeneratedFileContent(GeneratedFiles.Kind.RESOURCE, ToolIndex.LOCATION);
+        List<ToolIndex.Entry> index = ToolIndex.read(new ObjectMapper(), new IndexClassLoader(json));
+        assertThat(index).containsExactlyElementsOf(discovered.stream().map(ToolRegistry.Discovered::entry).toList());
+
+        for (ToolRegistry.Discovered tool : discovered) {
+            assertThat(RuntimeHintsPredicates.reflection().onMethod(tool.method()).invoke())
+                .accepts(context.getRuntimeHints());
+        }
+        assertThat(RuntimeHintsPredicates.resource().forResource(ToolIndex.LOCATION)).accepts(context.getRuntimeHints());
+    }
+
+    @Test
+    void noContributionWithoutTools() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("objectMapper", new ObjectMapper());
+
+        assertThat(new ToolIndexAotProcessor().processAheadOfTime(beanFactory)).isNull();
+    }
+
+    /**
+     * Serves the generated index as if it were on the classpath.
+     */
+    private static final class IndexClassLoader extends ClassLoader {
+
+        private final byte[] index;
+
+        IndexClassLoader(String index) {
+            super(null);
+            this.index = index.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            return ToolIndex.LOCATION.equals(name) ? new ByteArrayInputStream(index) : null;
+        }
+    }
+}
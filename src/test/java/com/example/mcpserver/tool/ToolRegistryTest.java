@@ -0,0 +1,151 @@
+package com.example.mcpserver.tool;
+
+import com.example.mcpserver.service.CalculatorService;
+import com.example.mcpserver.service.GameService;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.tool.annotation.Tool;
+import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ToolRegistryTest {
+
+    private static AnnotationConfigApplicationContext context;
+    private static ToolRegistry registry;
+
+    @BeforeAll
+    static void startContext() {
+        context = new AnnotationConfigApplicationContext(CalculatorService.class, GameService.class,
+            MeasureService.class, ToolRegistry.class);
+        registry = context.getBean(ToolRegistry.class);
+    }
+
+    @AfterAll
+    static void closeContext() {
+        context.close();
+    }
+
+    @Test
+    void discoversToolsOnEveryBean() {
+        assertThat(registry.getTools()).extracting(ToolDefinition::getName)
+            .contains("calculate", "add", "divide", "rockPaperScissors", "playRockPaperScissors");
+        assertThat(registry.find("add").getCategory()).isEqualTo("calculator");
+        assertThat(registry.find("rockPaperScissors").getCategory()).isEqualTo("game");
+        assertThat(registry.find("add").isDeterministic()).isTrue();
+        assertThat(registry.find("rockPaperScissors").isDeterministic()).isFalse();
+        assertThat(registry.find("nope")).isNull();
+        assertThat(registry.find(null)).isNull();
+    }
+
+    @Test
+    void describesParametersInTheInputSchema() {
+        Map<String, Object> descriptor = registry.getToolDescriptors().stream()
+            .filter(tool -> "add".equals(tool.get("name")))
+            .findFirst()
+            .orElseThrow();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> schema = (Map<String, Object>) descriptor.get("inputSchema");
+
+        assertThat(schema).containsEntry("type", "object");
+        assertThat(schema.get("properties")).asInstanceOf(InstanceOfAssertFactories.MAP)
+            .containsOnlyKeys("a", "b");
+        assertThat(schema.get("required")).isEqualTo(List.of("a", "b"));
+    }
+
+    @Test
+    void listsEnumConstantsInTheInputSchema() {
+        Map<String, Object> descriptor = registry.getToolDescriptors().stream()
+            .filter(tool -> "measure".equals(tool.get("name")))
+            .findFirst()
+            .orElseThrow();
+
+        assertThat(descriptor).extracting("inputSchema").extracting("properties").extracting("unit")
+            .isEqualTo(Map.of("type", "string", "enum", List.of("METRE", "FOOT"), "description", "Unit of length"));
+    }
+
+    @Test
+    void convertsEnumArgumentsByName() {
+        assertThat(registry.invoke("measure", Map.of("count", 3, "unit", "FOOT"))).isEqualTo("3 FOOT");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("measure", Map.of("count", 3, "unit", "yard")))
+            .withMessage("Argument 'unit' must be one of [METRE, FOOT]");
+    }
+
+    @Test
+    void rejectsFractionalIntegers() {
+        assertThat(registry.invoke("measure", Map.of("count", 2.0, "unit", "METRE"))).isEqualTo("2 METRE");
+        assertThat(registry.invoke("measure", Map.of("count", "4", "unit", "METRE"))).isEqualTo("4 METRE");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("measure", Map.of("count", 2.7, "unit", "METRE")))
+            .withMessage("Argument 'count' must be an integer");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("measure", Map.of("count", 1L << 32, "unit", "METRE")))
+            .withMessage("Argument 'count' must be an integer");
+    }
+
+    @Test
+    void dispatchesByName() {
+        assertThat(registry.invoke("add", Map.of("a", 2, "b", 3.5))).isEqualTo(5.5);
+        assertThat(registry.invoke("subtract", Map.of("a", 2L, "b", 3))).isEqualTo(-1.0);
+        assertThat(registry.invoke("calculate", Map.of("expression", "2 + 3 * 4"))).isEqualTo(14.0);
+        assertThat(registry.invoke("rockPaperScissors", null)).asString().startsWith("Computer chose:");
+    }
+
+    @Test
+    void convertsNumericStrings() {
+        assertThat(registry.invoke("multiply", Map.of("a", " 3", "b", "4.5"))).isEqualTo(13.5);
+    }
+
+    @Test
+    void rejectsUnknownTools() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("nope", Map.of()))
+            .withMessage("Unknown tool: nope");
+    }
+
+    @Test
+    void reportsArgumentConversionErrors() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("add", Map.of("a", "abc", "b", 1)))
+            .withMessage("Argument 'a' must be a number");
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("add", Map.of("a", List.of(1), "b", 1)))
+            .withMessage("Argument 'a' must be a number");
+        Map<String, Object> missing = new HashMap<>();
+        missing.put("a", 1);
+        missing.put("b", null);
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("add", missing))
+            .withMessage("Missing required argument: b");
+    }
+
+    @Test
+    void propagatesToolFailures() {
+        assertThatIllegalArgumentException()
+            .isThrownBy(() -> registry.invoke("divide", Map.of("a", 1, "b", 0)))
+            .withMessage("Cannot divide by zero");
+    }
+
+    /**
+     * A tool with enum and integer parameters.
+     */
+    public static class MeasureService {
+
+        public enum Unit { METRE, FOOT }
+
+        @Tool(description = "Describes a length")
+        public String measure(@ToolParam(description = "Number of units") int count,
+                              @ToolParam(description = "Unit of length") Unit unit) {
+            return count + " " + unit;
+        }
+    }
+}
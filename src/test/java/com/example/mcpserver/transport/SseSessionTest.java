@@ -0,0 +1,127 @@
+package com.example.mcpserver.transport;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SseSessionTest {
+
+    private static final long TIMEOUT = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void emitWithoutConnectionIsNotDelivered() {
+        SseSession session = new SseSession("s", 64, 1 << 20, 256, SseOverflowPolicy.DROP);
+
+        assertThat(session.emit(1, "message", "a")).isFalse();
+        assertThat(replayed(session)).containsExactly("a");
+    }
+
+    @Test
+    void overflowIsReportedUnderDrop() {
+        SseSession session = new SseSession("s", 64, 1 << 20, 8, SseOverflowPolicy.DROP);
+        Reader reader = new Reader();
+        session.connect(0).subscribe(reader);
+
+        List<Boolean> sent = IntStream.range(0, 100).mapToObj(i -> session.emit(i + 1, "message", "x")).toList();
+
+        assertThat(sent).startsWith(true).contains(false);
+        assertThat(session.getDroppedEvents()).isPositive();
+        assertThat(session.isConnected()).isTrue();
+    }
+
+    @Test
+    void overflowDetachesUnderDisconnect() {
+        SseSession session = new SseSession("s", 64, 1 << 20, 8, SseOverflowPolicy.DISCONNECT);
+        session.connect(0).subscribe(new Reader());
+
+        boolean overflowed = false;
+        for (int i = 0; i < 100 && !overflowed; i++) {
+            overflowed = !session.emit(i + 1, "message", "x");
+        }
+
+        assertThat(overflowed).isTrue();
+        assertThat(session.isConnected()).isFalse();
+        assertThat(session.emit(1000, "message", "x")).isFalse();
+    }
+
+    @Test
+    void awaitCapacityWaitsForTheReader() throws InterruptedException {
+        SseSession session = new SseSession("s", 64, 1 << 20, 256, SseOverflowPolicy.DROP);
+        Reader reader = new Reader();
+        session.connect(0).subscribe(reader);
+        assertThat(session.emit(1, "message", "a")).isTrue();
+        assertThat(session.emit(2, "message", "b")).isTrue();
+
+        assertThat(session.awaitCapacity(2, TIMEOUT, () -> false)).isFalse();
+
+        reader.take(1);
+        assertThat(session.awaitCapacity(2, TIMEOUT, () -> false)).isTrue();
+        assertThat(reader.received).containsExactly("a");
+    }
+
+    @Test
+    void awaitCapacityStopsWhenAbandonedOrDetached() throws InterruptedException {
+        SseSession session = new SseSession("s", 64, 1 << 20, 256, SseOverflowPolicy.DROP);
+        assertThat(session.awaitCapacity(1, TIMEOUT, () -> false)).isFalse();
+
+        Reader reader = new Reader();
+        session.connect(0).subscribe(reader);
+        session.emit(1, "message", "a");
+        long start = System.nanoTime();
+        assertThat(session.awaitCapacity(1, TimeUnit.SECONDS.toNanos(10), () -> true)).isFalse();
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+
+        reader.cancel();
+        assertThat(session.awaitCapacity(1, TimeUnit.SECONDS.toNanos(10), () -> false)).isFalse();
+    }
+
+    @Test
+    void replayBufferIsBoundedInBytes() {
+        SseSession session = new SseSession("s", 64, 100, 256, SseOverflowPolicy.DROP);
+        session.emit(1, "message", "a".repeat(40));
+        session.emit(2, "message", "b".repeat(40));
+        session.emit(3, "message", "c".repeat(40));
+        // Larger than the whole budget: never retained, and evicts nothing
+        session.emit(4, "message", "d".repeat(150));
+
+        assertThat(replayed(session)).containsExactly("b".repeat(40), "c".repeat(40));
+    }
+
+    private static List<String> replayed(SseSession session) {
+        return session.connect(0)
+            .take(Duration.ofMillis(200))
+            .map(ServerSentEvent::data)
+            .collectList()
+            .block();
+    }
+
+    /**
+     * Requests nothing until told to, like a connection that has stopped reading.
+     */
+    private static final class Reader extends BaseSubscriber<ServerSentEvent<String>> {
+
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+        }
+
+        @Override
+        protected void hookOnNext(ServerSentEvent<String> event) {
+            received.add(event.data());
+        }
+
+        void take(long n) {
+            request(n);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+#!/bin/bash
+set -e
+
+# Measures time from process launch to the first successful tools/call for each startup mode.
+#
+#   ./startup-benchmark.sh [mode...]   Modes: jvm, aot, cds, native (default: every mode that is built)
+#
+#   jvm     the plain executable jar, as the Dockerfile runs it
+#   aot     the AOT-processed application with the fast-start profile
+#   cds     aot plus the class-data-sharing archive from the training run
+#   native  the native image
+#
+# Build first: 'mvn -Pfast-start package' for jvm, aot and cds; 'mvn -Pnative native:compile' for native.
+#
+# Environment:
+#   RUNS   Launches per mode (default: 5)
+#   PORT   Port the server is started on (default: 18090)
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-18090}
+JAR=$(ls target/mcp-server-*.jar 2> /dev/null | grep -v '\.original$' | head -n 1)
+FAST=target/fast-start
+NATIVE=target/mcp-server
+FAST_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start"
+REQUEST='{"jsonrpc": "2.0", "id": 1, "method": "tools/call", "params": {"name": "add", "arguments": {"a": 1, "b": 2}}}'
+
+command_for() {
+  case "$1" in
+    jvm) [ -n "$JAR" ] && echo "java -jar $JAR" ;;
+    aot) [ -f "$FAST/$(basename "$JAR")" ] && echo "java $FAST_OPTS -jar $FAST/$(basename "$JAR")" ;;
+    cds) [ -f "$FAST/application.jsa" ] &&
+           echo "java -XX:SharedArchiveFile=$FAST/application.jsa $FAST_OPTS -jar $FAST/$(basename "$JAR")" ;;
+    native) [ -x "$NATIVE" ] && echo "$NATIVE -Dspring.profiles.active=fast-start" ;;
+    *) echo "Unknown mode: $1" >&2; exit 1 ;;
+  esac
+}
+
+now_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Starts the server, polls until tools/call answers, and prints the elapsed milliseconds
+measure() {
+  local start server elapsed
+  start=$(now_ms)
+  $1 --server.port="$PORT" --mcp.journal.enabled=false > /dev/null 2>&1 &
+  server=$!
+  until curl -sf -o /dev/null -X POST "http://localhost:$PORT/api/v1/mpc" \
+      -H "Content-Type: application/json" -d "$REQUEST"; do
+    if ! kill -0 "$server" 2> /dev/null; then
+      echo "Server exited before answering: $1" >&2
+      exit 1
+    fi
+    sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+  kill "$server"
+  wait "$server" 2> /dev/null || true
+  echo "$elapsed"
+}
+
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(jvm aot cds native)
+fi
+
+printf "%-8s %8s %8s %8s\n" "mode" "min ms" "median" "max ms"
+for mode in "${MODES[@]}"; do
+  cmd=$(command_for "$mode") || true
+  if [ -z "$cmd" ]; then
+    printf "%-8s %s\n" "$mode" "not built, skipped"
+    continue
+  fi
+  times=()
+  for _ in $(seq "$RUNS"); do
+    times+=("$(measure "$cmd")")
+  done
+  sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+  printf "%-8s %8d %8d %8d\n" "$mode" "${sorted[0]}" "${sorted[$(( ${#sorted[@]} / 2 ))]}" "${sorted[-1]}"
+done